@@ -0,0 +1,76 @@
+package com.ust_internal.productdiscountapi.benchmark;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluator;
+import com.ust_internal.productdiscountapi.pricing.LineDiscountCache;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Shared cart fixtures for the benchmarks. Rules are bound from the shipped
+ * application.properties so the benchmarks measure the production rule set.
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] MIXED_CATEGORIES = {"Electronics", "Clothing", "Grocery", "Books"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static DiscountProperties discountProperties() {
+        try {
+            Properties properties = PropertiesLoaderUtils.loadAllProperties("application.properties");
+            return new Binder(new MapConfigurationPropertySource(properties))
+                    .bind("discount", DiscountProperties.class)
+                    .orElseGet(DiscountProperties::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static CartEvaluator cartEvaluator(DiscountProperties properties, ForkJoinPool pricingPool) {
+        return new CartEvaluator(new DiscountRuleEngine(properties), properties, pricingPool,
+                new LineDiscountCache(properties));
+    }
+
+    static CartEvaluator sequentialCartEvaluator() {
+        DiscountProperties properties = discountProperties();
+        properties.getParallel().setEnabled(false);
+        return cartEvaluator(properties, null);
+    }
+
+    /**
+     * Builds a deterministic cart.
+     *
+     * @param mix {@code mixed} cycles through every rule plus an unknown category,
+     *            {@code electronics} hits a single rule on every line, and
+     *            {@code none} uses a category without any rule
+     */
+    static DiscountRequestDto cart(int size, String mix) {
+        Random random = new Random(42);
+        List<ProductDto> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String category = switch (mix) {
+                case "electronics" -> "Electronics";
+                case "none" -> "Books";
+                default -> MIXED_CATEGORIES[i % MIXED_CATEGORIES.length];
+            };
+            double price = 10 + random.nextInt(50_000);
+            int quantity = 1 + random.nextInt(15);
+            products.add(new ProductDto((long) i, "Product " + i, category, price, quantity));
+        }
+        return new DiscountRequestDto(products);
+    }
+}
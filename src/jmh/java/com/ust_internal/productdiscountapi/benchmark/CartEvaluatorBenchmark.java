@@ -0,0 +1,57 @@
+package com.ust_internal.productdiscountapi.benchmark;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluation;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential versus fork/join evaluation of large carts. Only meaningful on a
+ * multi-core machine; pass {@code -p parallelism=N} to pin the pool size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartEvaluatorBenchmark {
+
+    @Param({"10000", "100000"})
+    private int cartSize;
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    @Param({"0"})
+    private int parallelism;
+
+    private ForkJoinPool pricingPool;
+    private CartEvaluator cartEvaluator;
+    private List<ProductDto> products;
+
+    @Setup
+    public void setUp() {
+        DiscountProperties properties = BenchmarkFixtures.discountProperties();
+        properties.getParallel().setEnabled("parallel".equals(mode));
+        properties.getParallel().setThreshold(1);
+        pricingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        cartEvaluator = BenchmarkFixtures.cartEvaluator(properties, pricingPool);
+        products = BenchmarkFixtures.cart(cartSize, "mixed").getProducts();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pricingPool.shutdown();
+    }
+
+    @Benchmark
+    public CartEvaluation evaluate() {
+        return cartEvaluator.evaluate(products);
+    }
+}
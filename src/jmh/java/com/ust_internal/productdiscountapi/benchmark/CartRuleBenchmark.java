@@ -0,0 +1,77 @@
+package com.ust_internal.productdiscountapi.benchmark;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluation;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluator;
+import com.ust_internal.productdiscountapi.rule.CartRuleDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart evaluation with many active cart rules. {@code stackable} rates never reach
+ * the 100% cap, so the optimizer settles on its first combination; {@code overlapping}
+ * rates do, forcing the bounded search (up to {@code budgetMicros}). Sample mode
+ * reports the p99 latency directly.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartRuleBenchmark {
+
+    private static final String[] TARGETS = {"Electronics", "Clothing", "Grocery", "Books", null};
+
+    @Param({"200"})
+    private int cartSize;
+
+    @Param({"50"})
+    private int promotions;
+
+    @Param({"stackable", "overlapping"})
+    private String rates;
+
+    @Param({"1000"})
+    private long budgetMicros;
+
+    private CartEvaluator cartEvaluator;
+    private List<ProductDto> products;
+
+    @Setup
+    public void setUp() {
+        DiscountProperties properties = BenchmarkFixtures.discountProperties();
+        properties.getParallel().setEnabled(false);
+        properties.setCartRules(cartRules(promotions, "overlapping".equals(rates)));
+        properties.getOptimizer().setBudget(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(budgetMicros)));
+        cartEvaluator = BenchmarkFixtures.cartEvaluator(properties, null);
+        products = BenchmarkFixtures.cart(cartSize, "mixed").getProducts();
+    }
+
+    @Benchmark
+    public CartEvaluation evaluate() {
+        return cartEvaluator.evaluate(products);
+    }
+
+    private static List<CartRuleDefinition> cartRules(int count, boolean overlapping) {
+        List<CartRuleDefinition> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rules.add(CartRuleDefinition.builder()
+                    .name("promo-" + i)
+                    .targetCategory(TARGETS[i % TARGETS.length])
+                    .percentage(overlapping ? 20.0 + (i * 7) % 40 : 1.0 + i % 3)
+                    .triggerCategory(i % 2 == 0 ? "Electronics" : null)
+                    .triggerQuantity(i % 2 == 0 ? 1 + i % 4 : null)
+                    // Every third rule shares one of eight groups; the rest stack on their own
+                    .group(i % 3 == 0 ? "group-" + (i % 8) : null)
+                    .exclusive(i % 17 == 16)
+                    .build());
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ust_internal.productdiscountapi.benchmark;
+
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.idempotency.DiscountRequestCoalescer;
+import com.ust_internal.productdiscountapi.mapper.ProductMapper;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.service.DiscountServiceImpl;
+import com.ust_internal.productdiscountapi.validation.ProductValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-line discount path ({@code applyDiscount}) and the full cart path
+ * ({@code calculateDiscount}: validation plus the fused CartEvaluator pass).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiscountServiceBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int cartSize;
+
+    @Param({"mixed", "electronics", "none"})
+    private String mix;
+
+    private DiscountServiceImpl discountService;
+    private DiscountRequestDto request;
+
+    @Setup
+    public void setUp() {
+        discountService = new DiscountServiceImpl(
+                null, new ProductMapper(), BenchmarkFixtures.sequentialCartEvaluator(),
+                new DiscountMetrics(new SimpleMeterRegistry()), new ProductValidator(),
+                BenchmarkFixtures.discountProperties(), null, null, null, new DiscountRequestCoalescer());
+        request = BenchmarkFixtures.cart(cartSize, mix);
+    }
+
+    @Benchmark
+    public void applyDiscount(Blackhole blackhole) {
+        for (ProductDto product : request.getProducts()) {
+            blackhole.consume(discountService.applyDiscount(product));
+        }
+    }
+
+    @Benchmark
+    public DiscountResponseDto calculateDiscount() {
+        return discountService.calculateDiscount(request);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ust_internal.productdiscountapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Request deserialization and response serialization with an ObjectMapper configured
+ * the way Spring Boot configures it from application.properties ({@code pretty}) or
+ * the prod profile ({@code compact}), with and without Blackbird. Setup prints the
+ * response size raw and gzipped, i.e. the bytes on the wire for each format.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int cartSize;
+
+    @Param({"pretty", "compact"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private byte[] requestJson;
+    private DiscountResponseDto response;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("pretty".equals(format)) {
+            builder.featuresToEnable(SerializationFeature.INDENT_OUTPUT);
+        }
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        DiscountRequestDto request = BenchmarkFixtures.cart(cartSize, "mixed");
+        requestJson = objectMapper.writeValueAsBytes(request);
+        response = BenchmarkFixtures.sequentialCartEvaluator()
+                .evaluate(request.getProducts())
+                .toResponse();
+
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        System.out.printf("%n%s response for %d lines: %d bytes, %d gzipped%n",
+                format, cartSize, body.length, gzip(body).length);
+    }
+
+    @Benchmark
+    public DiscountRequestDto deserializeRequest() throws IOException {
+        return objectMapper.readValue(requestJson, DiscountRequestDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeResponseGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, response);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ust_internal.productdiscountapi.benchmark;
+
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import com.ust_internal.productdiscountapi.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int cartSize;
+
+    private ProductMapper productMapper;
+    private List<ProductDto> products;
+    private List<ProductEntity> entities;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapper();
+        products = BenchmarkFixtures.cart(cartSize, "mixed").getProducts();
+        entities = products.stream()
+                .map(productMapper::toEntity)
+                .toList();
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (ProductDto product : products) {
+            blackhole.consume(productMapper.toEntity(product));
+        }
+    }
+
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (ProductEntity entity : entities) {
+            blackhole.consume(productMapper.toDto(entity));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.ust_internal.productdiscountapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust_internal.productdiscountapi.ProductDiscountApiApplication;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test for POST /api/v1/products/discount on the servlet stack (Tomcat,
+ * virtual threads) and the reactive stack (WebFlux on Netty). Each stack runs in its own
+ * JVM with the same classpath and heap limit, so the server's resident memory can be read
+ * from {@code /proc} without the load generator's. For each concurrency level it reports
+ * throughput, latency percentiles, the server's peak resident memory and thread count, and
+ * the resident memory added per open connection over the warmed-up idle baseline.
+ * <p>
+ * Admission control and request coalescing are off for both stacks, so every request is
+ * priced. Needs the reactive build and Linux:
+ *
+ * <pre>
+ * mvn -Pbenchmark,reactive test-compile exec:exec \
+ *     -Dbenchmark.main=com.ust_internal.productdiscountapi.benchmark.ReactiveLoadTest \
+ *     -Djmh.args="--concurrency=100,1000,4000 --requests=20 --cart-size=10"
+ * </pre>
+ */
+public final class ReactiveLoadTest {
+
+    private ReactiveLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = {100, 1000, 4000};
+        int requestsPerClient = 20;
+        int cartSize = 10;
+        String heap = "512m";
+        String[] stacks = {"servlet", "reactive"};
+        for (String arg : args) {
+            if (arg.startsWith("--concurrency=")) {
+                concurrencyLevels = Arrays.stream(arg.substring(14).split(",")).mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("--requests=")) {
+                requestsPerClient = Integer.parseInt(arg.substring(11));
+            } else if (arg.startsWith("--cart-size=")) {
+                cartSize = Integer.parseInt(arg.substring(12));
+            } else if (arg.startsWith("--heap=")) {
+                heap = arg.substring(7);
+            } else if (arg.startsWith("--stacks=")) {
+                stacks = arg.substring(9).split(",");
+            }
+        }
+
+        byte[] body = new ObjectMapper().writeValueAsBytes(BenchmarkFixtures.cart(cartSize, "mixed"));
+
+        System.out.printf("%-9s %11s %9s %7s %9s %8s %8s %9s %8s %9s %8s%n",
+                "stack", "concurrency", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms",
+                "rss MB", "KB/conn", "threads");
+        for (String stack : stacks) {
+            measure(stack, heap, body, concurrencyLevels, requestsPerClient);
+        }
+    }
+
+    private static void measure(String stack, String heap, byte[] body, int[] concurrencyLevels,
+                                int requestsPerClient) throws Exception {
+        int port = freePort();
+        Path log = Files.createTempFile("reactive-load-test-" + stack, ".log");
+        Process server = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + heap,
+                "-cp", System.getProperty("java.class.path"),
+                ProductDiscountApiApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.main.web-application-type=" + stack,
+                "--logging.level.root=WARN",
+                "--spring.jpa.show-sql=false",
+                "--spring.jackson.serialization.indent-output=false",
+                "--discount.admission.enabled=false",
+                "--discount.coalescing.enabled=false")
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            URI base = URI.create("http://localhost:" + port);
+            awaitHealthy(base, server, log);
+            URI uri = base.resolve("/api/v1/products/discount");
+            run(uri, body, Math.min(50, concurrencyLevels[0]), requestsPerClient, null, server.pid(), 0);
+            long idleRss = status(server.pid(), "VmRSS:");
+            for (int concurrency : concurrencyLevels) {
+                run(uri, body, concurrency, requestsPerClient, stack, server.pid(), idleRss);
+            }
+        } finally {
+            server.destroy();
+            if (!server.waitFor(15, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    private static void run(URI uri, byte[] body, int concurrency, int requestsPerClient, String label,
+                            long pid, long idleRss) throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong peakRss = new AtomicLong();
+        AtomicLong peakThreads = new AtomicLong();
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+
+            Future<?> sampler = executor.submit(() -> {
+                while (running.get()) {
+                    peakRss.accumulateAndGet(status(pid, "VmRSS:"), Math::max);
+                    peakThreads.accumulateAndGet(status(pid, "Threads:"), Math::max);
+                    Thread.sleep(50);
+                }
+                return null;
+            });
+
+            for (int c = 0; c < concurrency; c++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    start.await();
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long began = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 201) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[r] = System.nanoTime() - began;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long began = System.nanoTime();
+            start.countDown();
+            long[] all = new long[concurrency * requestsPerClient];
+            int i = 0;
+            for (Future<long[]> future : clients) {
+                for (long latency : future.get()) {
+                    all[i++] = latency;
+                }
+            }
+            double seconds = (System.nanoTime() - began) / 1e9;
+            running.set(false);
+            sampler.get();
+
+            if (label != null) {
+                Arrays.sort(all);
+                System.out.printf("%-9s %11d %9d %7d %9.0f %8.1f %8.1f %9.1f %8.0f %9.1f %8d%n",
+                        label, concurrency, all.length, errors.get(), all.length / seconds,
+                        all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6,
+                        all[(int) (all.length * 0.999)] / 1e6,
+                        peakRss.get() / 1024.0, Math.max(0, peakRss.get() - idleRss) / (double) concurrency,
+                        peakThreads.get());
+            }
+        }
+    }
+
+    private static void awaitHealthy(URI base, Process server, Path log) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(base.resolve("/actuator/health")).build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+            while (System.nanoTime() < deadline) {
+                if (!server.isAlive()) {
+                    throw new IllegalStateException("Server exited, see " + log);
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("Server did not become healthy, see " + log);
+    }
+
+    /**
+     * Reads a numeric field such as {@code VmRSS:} (in kB) or {@code Threads:} from
+     * {@code /proc/<pid>/status}.
+     */
+    private static long status(long pid, String field) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith(field)) {
+                return Long.parseLong(line.substring(field.length()).trim().split("\\s+")[0]);
+            }
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.ust_internal.productdiscountapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust_internal.productdiscountapi.ProductDiscountApiApplication;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test for POST /api/v1/products/discount/save. Boots the application
+ * once with platform request threads and once with virtual threads, then holds
+ * {@code concurrency} requests open at the same time and reports throughput, latency
+ * percentiles and the peak number of requests the server was executing at once.
+ * <p>
+ * With {@code --profiles} it instead boots once per listed profile, exactly as that
+ * profile configures the application (SQL logging included), to compare persistence
+ * setups. The prod profile writes to a fresh temporary data directory.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.ust_internal.productdiscountapi.benchmark.SaveLoadTest \
+ *     -Djmh.args="--concurrency=200,1000 --requests=5 --cart-size=100"
+ * mvn -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=com.ust_internal.productdiscountapi.benchmark.SaveLoadTest \
+ *     -Djmh.args="--profiles=default,prod --concurrency=16,64"
+ * </pre>
+ */
+public final class SaveLoadTest {
+
+    private SaveLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = {100, 400, 1000};
+        int requestsPerClient = 5;
+        int cartSize = 100;
+        int platformThreads = 200;
+        String[] profiles = null;
+        for (String arg : args) {
+            if (arg.startsWith("--concurrency=")) {
+                concurrencyLevels = Arrays.stream(arg.substring(14).split(",")).mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("--requests=")) {
+                requestsPerClient = Integer.parseInt(arg.substring(11));
+            } else if (arg.startsWith("--cart-size=")) {
+                cartSize = Integer.parseInt(arg.substring(12));
+            } else if (arg.startsWith("--platform-threads=")) {
+                platformThreads = Integer.parseInt(arg.substring(19));
+            } else if (arg.startsWith("--profiles=")) {
+                profiles = arg.substring(11).split(",");
+            }
+        }
+
+        byte[] body = new ObjectMapper().writeValueAsBytes(BenchmarkFixtures.cart(cartSize, "mixed"));
+
+        System.out.printf("%-9s %11s %9s %8s %9s %9s %9s %10s%n",
+                profiles != null ? "profile" : "threads",
+                "concurrency", "requests", "errors", "req/s", "p50 ms", "p99 ms", "in-flight");
+        if (profiles != null) {
+            for (String profile : profiles) {
+                Path dataDir = Files.createTempDirectory("save-load-test");
+                measure(body, concurrencyLevels, requestsPerClient, profile,
+                        "--spring.profiles.active=" + profile,
+                        "--DATA_DIR=" + dataDir);
+            }
+            return;
+        }
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            measure(body, concurrencyLevels, requestsPerClient, virtualThreads ? "virtual" : "platform",
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--server.tomcat.threads.max=" + platformThreads,
+                    "--spring.jpa.show-sql=false",
+                    "--spring.jackson.serialization.indent-output=false");
+        }
+    }
+
+    private static void measure(byte[] body, int[] concurrencyLevels, int requestsPerClient, String label,
+                                String... args) throws Exception {
+        InFlightFilter inFlight = new InFlightFilter();
+        try (ConfigurableApplicationContext context = start(inFlight, args)) {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/v1/products/discount/save");
+            run(uri, body, Math.min(50, concurrencyLevels[0]), requestsPerClient, null, inFlight);
+            for (int concurrency : concurrencyLevels) {
+                run(uri, body, concurrency, requestsPerClient, label, inFlight);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(InFlightFilter inFlight, String... args) {
+        // Command-line arguments, so they override application.properties
+        // Admission control would shed the load this test is meant to measure
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN",
+                "--discount.admission.enabled=false"));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(ProductDiscountApiApplication.class)
+                .initializers(context -> context.getBeanFactory().registerSingleton("inFlightFilter", inFlight))
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static void run(URI uri, byte[] body, int concurrency, int requestsPerClient, String label,
+                            InFlightFilter inFlight) throws Exception {
+        inFlight.reset();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+
+            for (int c = 0; c < concurrency; c++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    start.await();
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long began = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 201) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[r] = System.nanoTime() - began;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long began = System.nanoTime();
+            start.countDown();
+            long[] all = new long[concurrency * requestsPerClient];
+            int i = 0;
+            for (Future<long[]> future : clients) {
+                for (long latency : future.get()) {
+                    all[i++] = latency;
+                }
+            }
+            double seconds = (System.nanoTime() - began) / 1e9;
+
+            if (label != null) {
+                Arrays.sort(all);
+                System.out.printf("%-9s %11d %9d %8d %9.0f %9.1f %9.1f %10d%n",
+                        label, concurrency, all.length, errors.get(), all.length / seconds,
+                        all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, inFlight.peak.get());
+            }
+        }
+    }
+
+    /**
+     * Counts requests currently executing inside the servlet container.
+     */
+    private static final class InFlightFilter implements Filter {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        void reset() {
+            peak.set(0);
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+}
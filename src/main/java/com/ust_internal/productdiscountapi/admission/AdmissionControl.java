@@ -0,0 +1,153 @@
+package com.ust_internal.productdiscountapi.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether a request may run. Each client has a token bucket of
+ * {@code requests-per-second} with room for {@code burst}, and each {@link Lane} has a
+ * fixed number of permits shared by its requests in proportion to their size. Nothing
+ * waits: a request without a token or enough free permits is rejected at once with
+ * {@link TooManyRequestsException}.
+ * <p>
+ * Requests are sized by body length, so they can be admitted before the body is read:
+ * {@code /batch}, {@code /stream} and bodies of at least {@code bulk-threshold} go to
+ * the bulk lane, and a request holds one permit per {@code permit-size} of body. Bodies
+ * of unknown length are sized as the bulk threshold.
+ */
+@Component
+public class AdmissionControl implements MeterBinder {
+
+    public static final String REJECTED = "discount.admission.rejected";
+    public static final String PERMITS_IN_USE = "discount.admission.permits.in-use";
+    public static final String CLIENTS = "discount.admission.clients";
+
+    private static final String RATE_LIMIT = "rate-limit";
+    private static final String CONCURRENCY = "concurrency";
+
+    private final double requestsPerSecond;
+    private final int burst;
+    private final long bulkThreshold;
+    private final long permitSize;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<Lane, Integer> capacity = new EnumMap<>(Lane.class);
+    private final Map<Lane, Semaphore> permits = new EnumMap<>(Lane.class);
+    private final Map<Lane, LongAdder> rateLimited = new EnumMap<>(Lane.class);
+    private final Map<Lane, LongAdder> shed = new EnumMap<>(Lane.class);
+
+    public AdmissionControl(DiscountProperties properties) {
+        DiscountProperties.Admission config = properties.getAdmission();
+        this.requestsPerSecond = config.getRequestsPerSecond();
+        this.burst = config.getBurst();
+        this.bulkThreshold = config.getBulkThreshold().toBytes();
+        this.permitSize = config.getPermitSize().toBytes();
+        // A bucket idle long enough to refill completely is the same as a new one
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxClients())
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(burst / requestsPerSecond * 1e9)))
+                .build();
+        capacity.put(Lane.INTERACTIVE, config.getInteractivePermits());
+        capacity.put(Lane.BULK, config.getBulkPermits());
+        for (Lane lane : Lane.values()) {
+            permits.put(lane, new Semaphore(capacity.get(lane)));
+            rateLimited.put(lane, new LongAdder());
+            shed.put(lane, new LongAdder());
+        }
+    }
+
+    /**
+     * Admits a request to a discount endpoint, choosing its lane and weight from the
+     * path and body length (negative if unknown).
+     */
+    public Permit admit(String clientId, String path, long contentLength) {
+        long size = contentLength < 0 ? bulkThreshold : contentLength;
+        Lane lane = size >= bulkThreshold || path.endsWith("/batch") || path.endsWith("/stream")
+                ? Lane.BULK
+                : Lane.INTERACTIVE;
+        return admit(clientId, lane, (int) Math.min(Integer.MAX_VALUE, Math.ceilDiv(size, permitSize)));
+    }
+
+    /**
+     * Admits a request or throws {@link TooManyRequestsException}. The returned permit
+     * must be closed when the request completes.
+     *
+     * @param weight permits the request holds in its lane; capped at the lane size so
+     *               an oversized request can still run when the lane is idle
+     */
+    public Permit admit(String clientId, Lane lane, int weight) {
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(clientId, id -> new TokenBucket(requestsPerSecond, burst, now)).tryAcquire(now);
+        if (waitNanos > 0) {
+            rateLimited.get(lane).increment();
+            throw new TooManyRequestsException("Rate limit exceeded",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+
+        int held = Math.max(1, Math.min(weight, capacity.get(lane)));
+        Semaphore semaphore = permits.get(lane);
+        if (!semaphore.tryAcquire(held)) {
+            shed.get(lane).increment();
+            throw new TooManyRequestsException("Too many " + lane.tag() + " requests in progress", 1);
+        }
+        return new Permit(semaphore, held);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Lane lane : Lane.values()) {
+            FunctionCounter.builder(REJECTED, rateLimited.get(lane), LongAdder::sum)
+                    .description("Requests refused with 429")
+                    .tag("lane", lane.tag())
+                    .tag("reason", RATE_LIMIT)
+                    .register(registry);
+            FunctionCounter.builder(REJECTED, shed.get(lane), LongAdder::sum)
+                    .description("Requests refused with 429")
+                    .tag("lane", lane.tag())
+                    .tag("reason", CONCURRENCY)
+                    .register(registry);
+            Semaphore semaphore = permits.get(lane);
+            int size = capacity.get(lane);
+            Gauge.builder(PERMITS_IN_USE, semaphore, s -> size - s.availablePermits())
+                    .description("Lane permits held by running requests")
+                    .tag("lane", lane.tag())
+                    .register(registry);
+        }
+        Gauge.builder(CLIENTS, buckets, Cache::estimatedSize)
+                .description("Clients with a live rate-limit bucket")
+                .register(registry);
+    }
+
+    public static final class Permit implements AutoCloseable {
+
+        private final Semaphore semaphore;
+        private final int count;
+        private boolean released;
+
+        private Permit(Semaphore semaphore, int count) {
+            this.semaphore = semaphore;
+            this.count = count;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                semaphore.release(count);
+            }
+        }
+    }
+}
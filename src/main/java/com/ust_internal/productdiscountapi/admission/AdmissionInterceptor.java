@@ -0,0 +1,47 @@
+package com.ust_internal.productdiscountapi.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies {@link AdmissionControl} to the discount endpoints. It runs before the body
+ * is read, so rejected requests cost no parsing or pricing.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionControl admissionControl;
+    private final ClientResolver clientResolver;
+
+    public AdmissionInterceptor(AdmissionControl admissionControl, ClientResolver clientResolver) {
+        this.admissionControl = admissionControl;
+        this.clientResolver = clientResolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AdmissionControl.Permit permit = admissionControl.admit(
+                clientId(request), request.getRequestURI(), request.getContentLengthLong());
+        request.setAttribute(PERMIT, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof AdmissionControl.Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.close();
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        return clientResolver.clientId(request.getRemoteAddr(), request.getHeader(clientResolver.getClientHeader()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ust_internal.productdiscountapi.admission;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which client a request is counted against for admission. Clients are keyed
+ * by remote address, since anything in the request itself can be changed to get a
+ * fresh token bucket. The client header is only used on requests from one of the
+ * {@code trusted-proxies}, which are expected to set or overwrite it.
+ */
+@Component
+public class ClientResolver {
+
+    @Getter
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+
+    public ClientResolver(DiscountProperties properties) {
+        DiscountProperties.Admission config = properties.getAdmission();
+        this.clientHeader = config.getClientHeader();
+        this.trustedProxies = config.getTrustedProxies().stream()
+                .filter(address -> !address.isBlank())
+                .map(ClientResolver::normalize)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the client id for a request from {@code remoteAddress} (as produced by
+     * {@link InetAddress#getHostAddress()}, or null if unknown) carrying
+     * {@code headerValue} in the client header.
+     */
+    public String clientId(String remoteAddress, String headerValue) {
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        if (headerValue != null && !headerValue.isBlank() && trustedProxies.contains(remoteAddress)) {
+            return headerValue;
+        }
+        return remoteAddress;
+    }
+
+    // Puts a configured address in the getHostAddress() form servers report, so requests
+    // are matched with a plain set lookup. Host names are refused: getByName would
+    // resolve them, and a proxy must be identified by the address it connects from
+    private static String normalize(String address) {
+        String literal = address.trim();
+        if (!literal.contains(":") && !literal.matches("[0-9.]+")) {
+            throw new IllegalArgumentException("Trusted proxy must be a literal IP address: " + address);
+        }
+        try {
+            return InetAddress.getByName(literal).getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Invalid trusted proxy address: " + address, e);
+        }
+    }
+}
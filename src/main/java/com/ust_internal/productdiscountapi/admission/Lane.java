@@ -0,0 +1,14 @@
+package com.ust_internal.productdiscountapi.admission;
+
+/**
+ * Concurrency lanes. Bulk work has its own permits, so large carts can only ever
+ * fill the bulk lane and interactive requests keep theirs.
+ */
+public enum Lane {
+    INTERACTIVE,
+    BULK;
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
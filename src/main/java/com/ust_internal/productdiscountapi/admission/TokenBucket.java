@@ -0,0 +1,34 @@
+package com.ust_internal.productdiscountapi.admission;
+
+/**
+ * Token bucket refilled continuously from {@link System#nanoTime()}. Starts full.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double tokensPerSecond, int capacity, long now) {
+        this.tokensPerNano = tokensPerSecond / 1e9;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be
+     */
+    synchronized long tryAcquire(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+}
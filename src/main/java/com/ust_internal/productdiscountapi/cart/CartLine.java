@@ -0,0 +1,8 @@
+package com.ust_internal.productdiscountapi.cart;
+
+/**
+ * A priced line of a cart session. Money is in minor units.
+ */
+public record CartLine(String lineId, Long productId, String name, String category, long unitPrice,
+                       int quantity, long savings, long finalPrice) {
+}
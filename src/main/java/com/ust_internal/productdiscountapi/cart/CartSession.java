@@ -0,0 +1,105 @@
+package com.ust_internal.productdiscountapi.cart;
+
+import com.ust_internal.productdiscountapi.rule.DiscountRuleTable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Server-side cart: priced lines keyed by client line id plus running totals. A line
+ * change adjusts the totals by the difference between the old and new line, so it
+ * costs the same whatever the cart size. All access goes through {@link #locked}.
+ */
+public final class CartSession {
+
+    private final String id;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, CartLine> lines = new LinkedHashMap<>();
+    private DiscountRuleTable rules;
+    private long totalSavings;
+    private long finalBill;
+
+    public CartSession(String id, DiscountRuleTable rules) {
+        this.id = id;
+        this.rules = rules;
+    }
+
+    public <T> T locked(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public DiscountRuleTable getRules() {
+        return rules;
+    }
+
+    public boolean contains(String lineId) {
+        return lines.containsKey(lineId);
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    public Collection<CartLine> getLines() {
+        return lines.values();
+    }
+
+    public long getTotalSavings() {
+        return totalSavings;
+    }
+
+    public long getFinalBill() {
+        return finalBill;
+    }
+
+    public void put(CartLine line) {
+        CartLine previous = lines.put(line.lineId(), line);
+        if (previous != null) {
+            subtract(previous);
+        }
+        totalSavings += line.savings();
+        finalBill += line.finalPrice();
+    }
+
+    public CartLine remove(String lineId) {
+        CartLine removed = lines.remove(lineId);
+        if (removed != null) {
+            subtract(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Re-prices every line against a new rule table; the only full pass over the cart.
+     */
+    public void reprice(DiscountRuleTable newRules, UnaryOperator<CartLine> pricer) {
+        List<CartLine> current = new ArrayList<>(lines.values());
+        lines.clear();
+        rules = newRules;
+        totalSavings = 0L;
+        finalBill = 0L;
+        for (CartLine line : current) {
+            put(pricer.apply(line));
+        }
+    }
+
+    private void subtract(CartLine line) {
+        totalSavings -= line.savings();
+        finalBill -= line.finalPrice();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ust_internal.productdiscountapi.cart;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds live cart sessions. Carts idle for {@code discount.cart.idle-timeout} are
+ * evicted, and the number of carts is capped at {@code discount.cart.max-carts}.
+ */
+@Component
+public class CartSessionStore implements MeterBinder {
+
+    private final Cache<String, CartSession> carts;
+
+    public CartSessionStore(DiscountProperties properties) {
+        DiscountProperties.Cart config = properties.getCart();
+        this.carts = Caffeine.newBuilder()
+                .maximumSize(config.getMaxCarts())
+                .expireAfterAccess(config.getIdleTimeout())
+                .recordStats()
+                .build();
+    }
+
+    public void put(CartSession cart) {
+        carts.put(cart.getId(), cart);
+    }
+
+    /**
+     * Returns the cart and refreshes its idle timer, or {@code null} if it is unknown
+     * or has expired.
+     */
+    public CartSession get(String cartId) {
+        return carts.getIfPresent(cartId);
+    }
+
+    public void remove(String cartId) {
+        carts.invalidate(cartId);
+    }
+
+    public long size() {
+        return carts.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, carts, "discount.carts");
+    }
+}
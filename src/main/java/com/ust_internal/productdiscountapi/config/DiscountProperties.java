@@ -0,0 +1,134 @@
+package com.ust_internal.productdiscountapi.config;
+
+import com.ust_internal.productdiscountapi.rule.CartRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "discount")
+public class DiscountProperties {
+    private List<DiscountRuleDefinition> rules = new ArrayList<>();
+    private List<CartRuleDefinition> cartRules = new ArrayList<>();
+    private Parallel parallel = new Parallel();
+    private Cache cache = new Cache();
+    private Batch batch = new Batch();
+    private Reprice reprice = new Reprice();
+    private WriteBehind writeBehind = new WriteBehind();
+    private Catalog catalog = new Catalog();
+    private Cart cart = new Cart();
+    private Optimizer optimizer = new Optimizer();
+    private Idempotency idempotency = new Idempotency();
+    private Coalescing coalescing = new Coalescing();
+    private Admission admission = new Admission();
+    private RuleAdmin ruleAdmin = new RuleAdmin();
+
+    @Data
+    public static class Parallel {
+        private boolean enabled = false;
+        // Carts with at least this many lines are split across the pricing pool
+        private int threshold = 20_000;
+        private int chunkSize = 4_096;
+        // 0 means one worker per available processor
+        private int parallelism = 0;
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Batch {
+        private int maxCarts = 1_000;
+        // Lines across all carts of one batch request
+        private int maxItems = 50_000;
+    }
+
+    @Data
+    public static class Reprice {
+        // Ids looked up by one /discount/reprice request
+        private int maxItems = 10_000;
+    }
+
+    @Data
+    public static class WriteBehind {
+        private boolean enabled = false;
+        // Products queued or being flushed; saves beyond this are rejected with 503
+        private int capacity = 10_000;
+        private int batchSize = 500;
+        // Longest a queued product waits before a partial batch is flushed
+        private Duration flushInterval = Duration.ofMillis(200);
+        // Writes of a failed batch, including the first, before its products are dropped
+        private int maxAttempts = 3;
+        // Wait before the first retry; doubles for each retry after it
+        private Duration retryBackoff = Duration.ofMillis(200);
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Catalog {
+        private int defaultPageSize = 50;
+        private int maxPageSize = 500;
+    }
+
+    @Data
+    public static class Cart {
+        private long maxCarts = 100_000;
+        private int maxLines = 500;
+        private Duration idleTimeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Optimizer {
+        // Search time per cart when choosing between overlapping cart rules; 0 means greedy only
+        private Duration budget = Duration.ofMillis(1);
+    }
+
+    @Data
+    public static class Idempotency {
+        // Without an Idempotency-Key header, deduplicate saves by a hash of the request body
+        private boolean bodyHashFallback = false;
+        private long maxEntries = 10_000;
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Coalescing {
+        // Identical concurrent /discount requests share one computation
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class RuleAdmin {
+        // PUT /api/v1/discount-rules replaces live pricing rules and is not authenticated
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Admission {
+        // Off by default: behind a proxy, every client shares the proxy's bucket until
+        // trusted-proxies is set
+        private boolean enabled = false;
+        // Clients are identified by remote address, or by this header on requests from a
+        // trusted proxy (literal IP addresses) that sets it
+        private String clientHeader = "X-Client-Id";
+        private List<String> trustedProxies = new ArrayList<>();
+        private double requestsPerSecond = 100;
+        private int burst = 200;
+        private long maxClients = 100_000;
+        // Bodies at least this large use the bulk lane, as do /discount/batch and /discount/stream
+        private DataSize bulkThreshold = DataSize.ofKilobytes(256);
+        // A request holds one lane permit per this much body, and at least one
+        private DataSize permitSize = DataSize.ofKilobytes(64);
+        private int interactivePermits = 256;
+        private int bulkPermits = 64;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ust_internal.productdiscountapi.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Replaces reflective getter/setter calls on the DTOs with generated lambdas.
+     * Spring Boot registers every Module bean with the shared ObjectMapper.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "discount.json.blackbird", havingValue = "true")
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
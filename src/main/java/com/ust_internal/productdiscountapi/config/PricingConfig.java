@@ -0,0 +1,28 @@
+package com.ust_internal.productdiscountapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class PricingConfig {
+
+    /**
+     * Dedicated pool for parallel cart evaluation, so large carts never run on the
+     * common pool or compete with request threads for it. Workers start lazily.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool discountPricingPool(DiscountProperties properties) {
+        int parallelism = properties.getParallel().getParallelism() > 0
+                ? properties.getParallel().getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("discount-pricing-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ust_internal.productdiscountapi.config;
+
+import com.ust_internal.productdiscountapi.admission.AdmissionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionInterceptor admissionInterceptor;
+    private final DiscountProperties properties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.getAdmission().isEnabled()) {
+            registry.addInterceptor(admissionInterceptor)
+                    .addPathPatterns("/api/v1/products/discount", "/api/v1/products/discount/**");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ust_internal.productdiscountapi.controller;
+
+
+import com.ust_internal.productdiscountapi.dto.CartDto;
+import com.ust_internal.productdiscountapi.dto.CartUpdateDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.service.CartService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/carts")
+@RequiredArgsConstructor
+public class CartController {
+
+    private final CartService cartService;
+
+    @PostMapping
+    public ResponseEntity<CartDto> createCart() {
+        return new ResponseEntity<>(cartService.createCart(), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{cartId}")
+    public ResponseEntity<CartDto> getCart(@PathVariable String cartId) {
+        return ResponseEntity.ok(cartService.getCart(cartId));
+    }
+
+    @PutMapping("/{cartId}/lines/{lineId}")
+    public ResponseEntity<CartUpdateDto> putLine(
+            @PathVariable String cartId,
+            @PathVariable String lineId,
+            @RequestBody ProductDto product) {
+
+        return ResponseEntity.ok(cartService.putLine(cartId, lineId, product));
+    }
+
+    @DeleteMapping("/{cartId}/lines/{lineId}")
+    public ResponseEntity<CartUpdateDto> removeLine(@PathVariable String cartId, @PathVariable String lineId) {
+        return ResponseEntity.ok(cartService.removeLine(cartId, lineId));
+    }
+
+    @DeleteMapping("/{cartId}")
+    public ResponseEntity<Void> deleteCart(@PathVariable String cartId) {
+        cartService.deleteCart(cartId);
+        return ResponseEntity.noContent().build();
+    }
+}
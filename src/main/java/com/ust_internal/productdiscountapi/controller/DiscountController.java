@@ -1,21 +1,33 @@
 package com.ust_internal.productdiscountapi.controller;
 
 
+import com.ust_internal.productdiscountapi.dto.BatchDiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountResponseDto;
 import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
 import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
 import com.ust_internal.productdiscountapi.service.DiscountService;
+import com.ust_internal.productdiscountapi.service.DiscountStreamService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/products")
 @RequiredArgsConstructor
 public class DiscountController {
 
     private final DiscountService discountService;
+    private final DiscountStreamService discountStreamService;
 
     @PostMapping("/discount")
     public ResponseEntity<DiscountResponseDto> calculateDiscount(
@@ -25,11 +37,51 @@ public class DiscountController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // No @Valid: invalid lines are reported per index instead of rejecting the cart
+    @PostMapping("/discount/partial")
+    public ResponseEntity<DiscountResponseDto> calculateDiscountPartial(
+            @RequestBody DiscountRequestDto requestDto) {
+
+        DiscountResponseDto response = discountService.calculateDiscountPartial(requestDto);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/discount/batch")
+    public ResponseEntity<BatchDiscountResponseDto> calculateDiscountBatch(
+            @Valid @RequestBody BatchDiscountRequestDto requestDto) {
+
+        BatchDiscountResponseDto response = discountService.calculateDiscountBatch(requestDto);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/discount/reprice")
+    public ResponseEntity<DiscountResponseDto> repriceProducts(
+            @Valid @RequestBody RepriceRequestDto requestDto) {
+
+        DiscountResponseDto response = discountService.repriceProducts(requestDto);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Prices and stores the products. With {@code discount.write-behind.enabled} the
+     * response comes before the products are written: 201 then means they were accepted
+     * for writing, not persisted, and a batch that keeps failing is dropped.
+     */
     @PostMapping("/discount/save")
     public ResponseEntity<DiscountResponseDto> calculateDiscountAndSave(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody DiscountRequestDto requestDto) {
 
-        DiscountResponseDto response = discountService.calculateDiscountAndSave(requestDto);
+        DiscountResponseDto response = discountService.calculateDiscountAndSave(requestDto, idempotencyKey);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
+
+    @PostMapping(value = "/discount/stream",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void calculateDiscountStream(InputStream products, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        discountStreamService.calculateDiscount(products, response.getOutputStream());
+    }
 }
\ No newline at end of file
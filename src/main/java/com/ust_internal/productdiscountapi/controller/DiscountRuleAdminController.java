@@ -0,0 +1,33 @@
+package com.ust_internal.productdiscountapi.controller;
+
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Replaces the live pricing rules. The endpoint has no authentication of its own, so it
+ * only exists when {@code discount.rule-admin.enabled} is set.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "discount.rule-admin", name = "enabled", havingValue = "true")
+@RequestMapping("/api/v1/discount-rules")
+@RequiredArgsConstructor
+public class DiscountRuleAdminController {
+
+    private final DiscountRuleEngine discountRuleEngine;
+
+    @PutMapping
+    public ResponseEntity<List<DiscountRuleDefinition>> replaceRules(
+            @RequestBody List<DiscountRuleDefinition> definitions) {
+
+        discountRuleEngine.reload(definitions);
+        return ResponseEntity.ok(discountRuleEngine.getDefinitions());
+    }
+}
@@ -0,0 +1,41 @@
+package com.ust_internal.productdiscountapi.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ust_internal.productdiscountapi.dto.LineCacheStatsDto;
+import com.ust_internal.productdiscountapi.pricing.LineDiscountCache;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/discount-rules")
+@RequiredArgsConstructor
+public class DiscountRuleController {
+
+    private final DiscountRuleEngine discountRuleEngine;
+    private final LineDiscountCache lineDiscountCache;
+
+    @GetMapping
+    public ResponseEntity<List<DiscountRuleDefinition>> getRules() {
+        return ResponseEntity.ok(discountRuleEngine.getDefinitions());
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<LineCacheStatsDto> getCacheStats() {
+        CacheStats stats = lineDiscountCache.stats();
+        return ResponseEntity.ok(new LineCacheStatsDto(
+                lineDiscountCache.isEnabled(),
+                lineDiscountCache.size(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.hitRate()
+        ));
+    }
+}
@@ -0,0 +1,44 @@
+package com.ust_internal.productdiscountapi.controller;
+
+
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductPageDto;
+import com.ust_internal.productdiscountapi.service.ProductCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ProductController {
+
+    private final ProductCatalogService productCatalogService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProductDto> getProduct(@PathVariable Long id) {
+        return ResponseEntity.ok(productCatalogService.getProduct(id));
+    }
+
+    @GetMapping(params = "category")
+    public ResponseEntity<ProductPageDto> findByCategory(
+            @RequestParam String category,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size) {
+
+        return ResponseEntity.ok(productCatalogService.findByCategory(category, afterId, size));
+    }
+
+    @GetMapping("/price-range")
+    public ResponseEntity<ProductPageDto> findByPriceRange(
+            @RequestParam Double minPrice,
+            @RequestParam Double maxPrice,
+            @RequestParam(required = false) Double afterPrice,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size) {
+
+        return ResponseEntity.ok(productCatalogService.findByPriceRange(minPrice, maxPrice, afterPrice, afterId, size));
+    }
+}
@@ -0,0 +1,19 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDiscountRequestDto {
+    // Carts are validated one by one so a bad cart does not fail the batch
+    @NotNull(message = "Carts list is required")
+    @Size(min = 1, message = "At least one cart is required")
+    private List<CartRequestDto> carts;
+}
@@ -0,0 +1,17 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartDto {
+    private String cartId;
+    private List<CartLineDto> lines;
+    private Double totalSavings;
+    private Double finalBill;
+}
@@ -0,0 +1,17 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartLineDto {
+    private String lineId;
+    private Long id;
+    private String name;
+    private Integer quantity;
+    private Double finalPrice;
+    private Double savings;
+}
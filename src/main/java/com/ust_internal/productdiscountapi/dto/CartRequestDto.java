@@ -0,0 +1,15 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartRequestDto {
+    private String correlationId;
+    private List<ProductDto> products;
+}
@@ -0,0 +1,21 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class CartResultDto {
+    private String correlationId;
+    // Set when the cart was priced
+    private DiscountResponseDto result;
+    // Set when the cart was rejected as a whole
+    private String error;
+    private List<LineErrorDto> errors;
+}
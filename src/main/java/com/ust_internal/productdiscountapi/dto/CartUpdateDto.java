@@ -0,0 +1,22 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response to a single-line cart change: the changed line (absent on removal) and the
+ * new cart totals, without echoing the rest of the cart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CartUpdateDto {
+    private String cartId;
+    private CartLineDto line;
+    private Integer lineCount;
+    private Double totalSavings;
+    private Double finalBill;
+}
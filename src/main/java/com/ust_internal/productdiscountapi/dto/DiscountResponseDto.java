@@ -1,5 +1,6 @@
 package com.ust_internal.productdiscountapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +14,24 @@ public class DiscountResponseDto {
     private List<DiscountedProductDto> discountedProducts;
     private Double totalSavings;
     private Double finalBill;
-}
\ No newline at end of file
+
+    // Only populated in partial mode, for the lines that were rejected
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<LineErrorDto> errors;
+
+    // Savings from cart-level rules, already included in totalSavings and finalBill
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double cartSavings;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> appliedCartRules;
+
+    public DiscountResponseDto(List<DiscountedProductDto> discountedProducts, Double totalSavings, Double finalBill) {
+        this(discountedProducts, totalSavings, finalBill, List.of());
+    }
+
+    public DiscountResponseDto(List<DiscountedProductDto> discountedProducts, Double totalSavings, Double finalBill,
+                               List<LineErrorDto> errors) {
+        this(discountedProducts, totalSavings, finalBill, errors, null, List.of());
+    }
+}
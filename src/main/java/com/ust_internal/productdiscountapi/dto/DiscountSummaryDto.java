@@ -0,0 +1,17 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DiscountSummaryDto {
+    private Long itemCount;
+    private Double totalSavings;
+    private Double finalBill;
+    private String error;
+}
@@ -1,5 +1,6 @@
 package com.ust_internal.productdiscountapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,4 +13,12 @@ public class DiscountedProductDto {
     private String name;
     private Double finalPrice;
     private Double savings;
-}
\ No newline at end of file
+
+    // Share of cart-level rule savings allocated to this line, already included above
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double cartSavings;
+
+    public DiscountedProductDto(Long id, String name, Double finalPrice, Double savings) {
+        this(id, name, finalPrice, savings, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductPageDto {
+    private List<ProductDto> products;
+    // Keyset cursor for the next page; absent on the last page
+    private Long nextAfterId;
+    private Double nextAfterPrice;
+}
@@ -0,0 +1,20 @@
+package com.ust_internal.productdiscountapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepriceRequestDto {
+    @Valid
+    @NotNull(message = "Items list is required")
+    @Size(min = 1, message = "At least one item is required")
+    private List<RepriceItemDto> items;
+}
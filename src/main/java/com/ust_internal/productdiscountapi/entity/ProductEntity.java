@@ -8,16 +8,25 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "tbl_products")
+@Table(name = "tbl_products", indexes = {
+        // Keyset pagination: equality/range on the first column, id as the tie-breaker
+        @Index(name = "idx_products_category_id", columnList = "category, id"),
+        @Index(name = "idx_products_price_id", columnList = "price, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "tbl_products_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
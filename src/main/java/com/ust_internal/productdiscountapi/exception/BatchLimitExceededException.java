@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.exception;
+
+public class BatchLimitExceededException extends RuntimeException {
+    public BatchLimitExceededException(String message) {
+        super(message);
+    }
+}
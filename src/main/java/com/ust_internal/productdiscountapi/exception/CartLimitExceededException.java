@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.exception;
+
+public class CartLimitExceededException extends RuntimeException {
+    public CartLimitExceededException(String message) {
+        super(message);
+    }
+}
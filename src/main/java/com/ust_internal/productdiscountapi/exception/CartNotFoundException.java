@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.exception;
+
+public class CartNotFoundException extends RuntimeException {
+    public CartNotFoundException(String message) {
+        super(message);
+    }
+}
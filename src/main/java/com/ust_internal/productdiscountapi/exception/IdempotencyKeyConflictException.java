@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.exception;
+
+public class InvalidDiscountRuleException extends RuntimeException {
+    public InvalidDiscountRuleException(String message) {
+        super(message);
+    }
+}
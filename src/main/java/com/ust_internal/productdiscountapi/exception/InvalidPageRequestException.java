@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.exception;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
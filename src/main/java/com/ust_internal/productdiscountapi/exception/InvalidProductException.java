@@ -1,11 +1,39 @@
 package com.ust_internal.productdiscountapi.exception;
 
+import com.ust_internal.productdiscountapi.validation.ValidationResult;
+import com.ust_internal.productdiscountapi.validation.Violation;
+
+import java.util.List;
+
 public class InvalidProductException extends RuntimeException {
+
+    private final transient ValidationResult result;
+
     public InvalidProductException(String message) {
         super(message);
+        this.result = null;
     }
     
     public InvalidProductException(String message, Throwable cause) {
         super(message, cause);
+        this.result = null;
+    }
+
+    /**
+     * Rejects a request with the given violations. No stack trace is captured and
+     * the message is only built if it is read.
+     */
+    public InvalidProductException(ValidationResult result) {
+        super(null, null, false, false);
+        this.result = result;
+    }
+
+    @Override
+    public String getMessage() {
+        return result != null ? result.getMessage() : super.getMessage();
+    }
+
+    public List<Violation> getViolations() {
+        return result != null ? result.getViolations() : List.of();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.exception;
+
+public class ProductNotFoundException extends RuntimeException {
+    public ProductNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.exception;
+
+public class SaveQueueFullException extends RuntimeException {
+    public SaveQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ust_internal.productdiscountapi.idempotency;
+
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for pricing requests: while a cart is being priced, identical carts
+ * arriving at the same time wait for that result instead of pricing it again. Nothing
+ * is kept once the computation finishes, so only truly concurrent requests share.
+ * <p>
+ * Requests are matched by a 64-bit hash over the cart fields, computed without
+ * serializing, and confirmed with {@code equals} so a hash collision never shares a
+ * response between different carts.
+ */
+@Component
+public class DiscountRequestCoalescer implements MeterBinder {
+
+    public static final String CALLS = "discount.coalescing.calls";
+
+    private final ConcurrentHashMap<Long, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    public DiscountResponseDto execute(DiscountRequestDto request, Supplier<DiscountResponseDto> action) {
+        long hash = hash(request);
+        InFlight created = new InFlight(request, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(hash, created);
+        if (existing != null && existing.request().equals(request)) {
+            joined.increment();
+            return Futures.await(existing.result());
+        }
+
+        computed.increment();
+        if (existing != null) {
+            // Same hash, different cart
+            return action.get();
+        }
+        try {
+            DiscountResponseDto response = action.get();
+            created.result().complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            created.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(hash, created);
+        }
+    }
+
+    static long hash(DiscountRequestDto request) {
+        List<ProductDto> products = request.getProducts();
+        if (products == null) {
+            return 0L;
+        }
+        long hash = products.size();
+        for (ProductDto product : products) {
+            if (product == null) {
+                hash = mix(hash, 0L);
+                continue;
+            }
+            hash = mix(hash, Objects.hashCode(product.getId()));
+            hash = mix(hash, Objects.hashCode(product.getName()));
+            hash = mix(hash, Objects.hashCode(product.getCategory()));
+            hash = mix(hash, Objects.hashCode(product.getPrice()));
+            hash = mix(hash, Objects.hashCode(product.getQuantity()));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        long h = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(CALLS, computed, LongAdder::sum)
+                .description("Discount requests, by whether they were priced or joined an identical in-flight request")
+                .tag("result", "computed")
+                .register(registry);
+        FunctionCounter.builder(CALLS, joined, LongAdder::sum)
+                .description("Discount requests, by whether they were priced or joined an identical in-flight request")
+                .tag("result", "joined")
+                .register(registry);
+    }
+
+    private record InFlight(DiscountRequestDto request, CompletableFuture<DiscountResponseDto> result) {
+    }
+}
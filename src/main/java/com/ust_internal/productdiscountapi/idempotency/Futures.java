@@ -0,0 +1,25 @@
+package com.ust_internal.productdiscountapi.idempotency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Waits for a result computed by another request, rethrowing its unchecked
+     * exception as-is so callers see the same error the first request did.
+     */
+    static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ust_internal.productdiscountapi.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.exception.IdempotencyKeyConflictException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded store of save results keyed by idempotency key. The first request for a key
+ * runs; repeats, including ones that arrive while it is still running, wait for and
+ * return the same response. Failed requests are forgotten so a retry runs again.
+ * Entries expire after {@code discount.idempotency.ttl} and the store holds at most
+ * {@code discount.idempotency.max-entries}.
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+    public static final String REPLAYED = "discount.idempotency.replayed";
+    public static final String ENTRIES = "discount.idempotency.entries";
+
+    private final Cache<String, Entry> entries;
+    private final LongAdder replayed = new LongAdder();
+
+    public IdempotencyStore(DiscountProperties properties) {
+        DiscountProperties.Idempotency config = properties.getIdempotency();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .expireAfterWrite(config.getTtl())
+                .build();
+    }
+
+    /**
+     * @param fingerprint hash of the request; a key reused with a different request is
+     *                    rejected rather than answered with the other request's result
+     */
+    public DiscountResponseDto execute(String key, String fingerprint, Supplier<DiscountResponseDto> action) {
+        return execute(key, fingerprint, forget -> action.get());
+    }
+
+    /**
+     * Like {@link #execute(String, String, Supplier)}, but the action is handed a callback
+     * that forgets its stored response, for work that can still fail after the response
+     * was returned (a write-behind save whose flush fails). The callback only removes the
+     * entry this call created.
+     */
+    public DiscountResponseDto execute(String key, String fingerprint,
+                                       Function<Runnable, DiscountResponseDto> action) {
+        Entry created = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyConflictException(
+                        "Idempotency key was already used with a different request");
+            }
+            replayed.increment();
+            return Futures.await(existing.result());
+        }
+
+        try {
+            DiscountResponseDto response = action.apply(() -> entries.asMap().remove(key, created));
+            created.result().complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            entries.asMap().remove(key, created);
+            created.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(REPLAYED, replayed, LongAdder::sum)
+                .description("Saves answered from the idempotency store instead of running again")
+                .register(registry);
+        Gauge.builder(ENTRIES, entries, Cache::estimatedSize)
+                .description("Responses held in the idempotency store")
+                .register(registry);
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<DiscountResponseDto> result) {
+    }
+}
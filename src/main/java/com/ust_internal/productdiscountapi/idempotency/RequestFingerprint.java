@@ -0,0 +1,34 @@
+package com.ust_internal.productdiscountapi.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 of a request DTO's compact JSON form. Hashing the parsed DTO rather than the
+ * raw body makes whitespace and number formatting differences irrelevant.
+ */
+@Component
+public class RequestFingerprint {
+
+    private final ObjectWriter writer;
+
+    public RequestFingerprint(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public String of(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(writer.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ust_internal.productdiscountapi.metrics;
+
+import com.ust_internal.productdiscountapi.pricing.CartEvaluation;
+import com.ust_internal.productdiscountapi.pricing.CategoryTotal;
+import com.ust_internal.productdiscountapi.pricing.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Business meters for the discount endpoints. Counters are incremented once per
+ * category per cart or stream from totals tallied during pricing, never per line,
+ * and the {@code category} tag only takes rule categories (plus {@code none}), so
+ * arbitrary client categories cannot blow up the number of series.
+ */
+@Component
+public class DiscountMetrics {
+
+    public static final String ITEMS_PROCESSED = "discount.items.processed";
+    public static final String SAVINGS_ISSUED = "discount.savings.issued";
+    public static final String CART_SIZE = "discount.cart.size";
+    public static final String SAVE_DURATION = "discount.save.duration";
+    public static final String SAVE_QUEUE_DEPTH = "discount.save.queue.depth";
+    public static final String SAVE_FLUSH_DURATION = "discount.save.flush.duration";
+    public static final String SAVE_REJECTED = "discount.save.rejected";
+    public static final String SAVE_FAILED = "discount.save.failed";
+
+    public static final String CART_RULE_FALLBACK = "discount.cart-rules.fallback";
+
+    // Category tag for savings granted by cart-level rules
+    public static final String CART_RULES = "cart-rules";
+
+    private final MeterRegistry registry;
+    private final DistributionSummary cartSize;
+    private final DistributionSummary streamSize;
+    private final Timer saveTimer;
+    private final Timer flushTimer;
+    private final Counter rejectedProducts;
+    private final Counter failedProducts;
+
+    public DiscountMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.cartSize = cartSizeSummary("cart");
+        this.streamSize = cartSizeSummary("stream");
+        this.saveTimer = Timer.builder(SAVE_DURATION)
+                .description("Time spent in ProductRepository.saveAll")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.flushTimer = Timer.builder(SAVE_FLUSH_DURATION)
+                .description("Time spent writing one write-behind batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejectedProducts = Counter.builder(SAVE_REJECTED)
+                .description("Products refused because the write-behind queue was full")
+                .register(registry);
+        this.failedProducts = Counter.builder(SAVE_FAILED)
+                .description("Write-behind products dropped because their batch failed")
+                .register(registry);
+    }
+
+    public void recordCart(CartEvaluation evaluation) {
+        cartSize.record(evaluation.getLines().size());
+        recordCategoryTotals(evaluation.getCategoryTotals());
+        if (evaluation.getCartSavings() > 0) {
+            Counter.builder(SAVINGS_ISSUED)
+                    .description("Savings granted, in major currency units")
+                    .tag("category", CART_RULES)
+                    .register(registry)
+                    .increment(Money.toMajor(evaluation.getCartSavings()));
+        }
+        if (evaluation.isCartRuleSearchTruncated()) {
+            Counter.builder(CART_RULE_FALLBACK)
+                    .description("Carts whose cart-rule search hit the time budget and used the greedy choice")
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    public void recordStream(long itemCount, Collection<CategoryTotal> categoryTotals) {
+        streamSize.record(itemCount);
+        recordCategoryTotals(categoryTotals);
+    }
+
+    public <T> T timeSave(Supplier<T> save) {
+        return saveTimer.record(save);
+    }
+
+    public void monitorSaveQueue(Collection<?> queue) {
+        Gauge.builder(SAVE_QUEUE_DEPTH, queue, Collection::size)
+                .description("Products waiting in the write-behind queue")
+                .register(registry);
+    }
+
+    public void timeFlush(Runnable flush) {
+        flushTimer.record(flush);
+    }
+
+    public void recordSaveRejected(int products) {
+        rejectedProducts.increment(products);
+    }
+
+    public void recordSaveFailed(int products) {
+        failedProducts.increment(products);
+    }
+
+    private void recordCategoryTotals(Collection<CategoryTotal> categoryTotals) {
+        for (CategoryTotal total : categoryTotals) {
+            Counter.builder(ITEMS_PROCESSED)
+                    .description("Product lines priced")
+                    .tag("category", total.category())
+                    .register(registry)
+                    .increment(total.lines());
+            Counter.builder(SAVINGS_ISSUED)
+                    .description("Savings granted, in major currency units")
+                    .tag("category", total.category())
+                    .register(registry)
+                    .increment(Money.toMajor(total.savings()));
+        }
+    }
+
+    private DistributionSummary cartSizeSummary(String mode) {
+        return DistributionSummary.builder(CART_SIZE)
+                .description("Product lines per request")
+                .baseUnit("lines")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
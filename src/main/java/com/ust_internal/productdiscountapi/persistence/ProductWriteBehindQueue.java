@@ -0,0 +1,224 @@
+package com.ust_internal.productdiscountapi.persistence;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import com.ust_internal.productdiscountapi.exception.SaveQueueFullException;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded write-behind buffer for {@code /discount/save}. Requests enqueue their
+ * entities and return; a single writer thread flushes them with {@code saveAll} in
+ * batches of {@code batch-size}, or sooner once the oldest queued product has waited
+ * {@code flush-interval}. Capacity covers both queued products and the batch being
+ * written, and a save that does not fit is refused as a whole rather than blocking the
+ * request. On shutdown the writer stops after the web server and drains what is left.
+ * <p>
+ * A batch that fails to write is retried up to {@code max-attempts} times in all,
+ * waiting {@code retry-backoff} before the first retry and twice as long before each
+ * one after. Only then are its products dropped and their failure callbacks run; the
+ * requests that queued them have already been answered.
+ */
+@Slf4j
+@Component
+public class ProductWriteBehindQueue implements SmartLifecycle {
+
+    private final DiscountProperties.WriteBehind config;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DiscountMetrics discountMetrics;
+    private final BlockingQueue<QueuedProduct> queue;
+    private final Semaphore permits;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ProductWriteBehindQueue(DiscountProperties properties, ProductRepository productRepository,
+                                   PlatformTransactionManager transactionManager, DiscountMetrics discountMetrics) {
+        this.config = properties.getWriteBehind();
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.discountMetrics = discountMetrics;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getCapacity()));
+        this.permits = new Semaphore(Math.max(1, config.getCapacity()));
+        if (config.isEnabled()) {
+            discountMetrics.monitorSaveQueue(queue);
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public void enqueue(List<ProductEntity> products) {
+        enqueue(products, null);
+    }
+
+    /**
+     * Queues every product or none of them.
+     *
+     * @param onFailure run once if a batch holding any of these products fails to write;
+     *                  may be null
+     * @throws SaveQueueFullException when the products do not fit or the writer is stopped
+     */
+    public void enqueue(List<ProductEntity> products, Runnable onFailure) {
+        if (!running) {
+            throw new SaveQueueFullException("Product writer is not running");
+        }
+        if (!permits.tryAcquire(products.size())) {
+            discountMetrics.recordSaveRejected(products.size());
+            throw new SaveQueueFullException(String.format(
+                    "Save queue is full; %d products could not be queued", products.size()));
+        }
+        // Cannot fail: the permits held never exceed the queue's capacity
+        for (ProductEntity product : products) {
+            queue.add(new QueuedProduct(product, onFailure));
+        }
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!config.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("product-write-behind").daemon().start(this::drain);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(config.getShutdownTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive() || !queue.isEmpty()) {
+            log.warn("Product writer stopped with {} products still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server (which stops in a higher phase), so no request can
+     * enqueue once the final drain has started.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        int batchSize = Math.max(1, config.getBatchSize());
+        long flushIntervalNanos = config.getFlushInterval().toNanos();
+        List<QueuedProduct> batch = new ArrayList<>(batchSize);
+        long deadline = 0L;
+
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    QueuedProduct first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    deadline = System.nanoTime() + flushIntervalNanos;
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+
+                long remaining = deadline - System.nanoTime();
+                if (running && batch.size() < batchSize && remaining > 0) {
+                    QueuedProduct next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                        continue;
+                    }
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Keep draining; stop() ends the loop by clearing the running flag
+                log.debug("Product writer interrupted while waiting", e);
+            }
+        }
+    }
+
+    private void flush(List<QueuedProduct> batch) {
+        List<ProductEntity> products = batch.stream().map(QueuedProduct::entity).toList();
+        try {
+            if (!write(products)) {
+                discountMetrics.recordSaveFailed(batch.size());
+                batch.stream()
+                        .map(QueuedProduct::onFailure)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .forEach(Runnable::run);
+            }
+        } finally {
+            permits.release(batch.size());
+        }
+    }
+
+    private boolean write(List<ProductEntity> products) {
+        int maxAttempts = Math.max(1, config.getMaxAttempts());
+        long backoffNanos = config.getRetryBackoff().toNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                discountMetrics.timeFlush(() -> transactionTemplate.executeWithoutResult(
+                        status -> productRepository.saveAll(products)));
+                return true;
+            } catch (NonTransientDataAccessException e) {
+                // A constraint violation or bad mapping fails the same way every time
+                log.error("Failed to write {} queued products", products.size(), e);
+                return false;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Failed to write {} queued products after {} attempts",
+                            products.size(), attempt, e);
+                    return false;
+                }
+                log.warn("Failed to write {} queued products (attempt {} of {}), retrying",
+                        products.size(), attempt, maxAttempts, e);
+            }
+            sleep(backoffNanos);
+            backoffNanos *= 2;
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            // Retry at once; stop() waits for the writer rather than interrupting it
+            log.debug("Product writer interrupted during retry backoff", e);
+        }
+    }
+
+    private record QueuedProduct(ProductEntity entity, Runnable onFailure) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Result of evaluating a cart: priced lines plus exact totals in minor units, overall
+ * and per rule category. Totals include {@code cartSavings} from cart-level rules.
+ */
+@Value
+public class CartEvaluation {
+    List<DiscountedProductDto> lines;
+    long totalSavings;
+    long finalBill;
+    List<CategoryTotal> categoryTotals;
+    long cartSavings;
+    List<String> appliedCartRules;
+    // True when choosing between cart rules hit discount.optimizer.budget
+    boolean cartRuleSearchTruncated;
+
+    public DiscountResponseDto toResponse() {
+        if (appliedCartRules.isEmpty()) {
+            return new DiscountResponseDto(lines, Money.toMajor(totalSavings), Money.toMajor(finalBill));
+        }
+        return new DiscountResponseDto(lines, Money.toMajor(totalSavings), Money.toMajor(finalBill), List.of(),
+                Money.toMajor(cartSavings), appliedCartRules);
+    }
+}
@@ -0,0 +1,176 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.rule.DiscountRule;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Prices already-validated products against the active rule table. A cart is
+ * evaluated in a single pass that unboxes, prices and materialises each line while
+ * accumulating both totals in minor units. Carts at or above
+ * {@code discount.parallel.threshold} lines are split into chunks on the dedicated
+ * pricing pool; each chunk writes its own slice of the result, so line order matches
+ * sequential mode and the long totals are identical. Line counts and savings are
+ * also tallied per rule category in the same pass. Cart-level rules then run once
+ * over the priced lines (see {@link CartRulePhase}).
+ */
+@Component
+@RequiredArgsConstructor
+public class CartEvaluator {
+
+    private final DiscountRuleEngine discountRuleEngine;
+    private final DiscountProperties discountProperties;
+    private final ForkJoinPool discountPricingPool;
+    private final LineDiscountCache lineDiscountCache;
+
+    public CartEvaluation evaluate(List<ProductDto> products) {
+        DiscountRuleTable rules = discountRuleEngine.getTable();
+        DiscountedProductDto[] lines = new DiscountedProductDto[products.size()];
+
+        Totals totals = shouldSplit(lines.length)
+                ? discountPricingPool.invoke(new PricingTask(products, rules, lines, 0, lines.length,
+                        Math.max(1, discountProperties.getParallel().getChunkSize())))
+                : priceRange(products, rules, lines, 0, lines.length);
+
+        CartRulePhase.Result cartRules = CartRulePhase.apply(
+                discountRuleEngine.getCartRules(), products, lines, totals.finalBill,
+                discountProperties.getOptimizer().getBudget().toNanos());
+
+        return new CartEvaluation(Arrays.asList(lines), totals.savings + cartRules.savings(),
+                totals.finalBill - cartRules.savings(), categoryTotals(rules, totals),
+                cartRules.savings(), cartRules.appliedRules(), !cartRules.exhaustive());
+    }
+
+    public DiscountedProductDto evaluate(ProductDto product) {
+        return evaluate(product, discountRuleEngine.getTable());
+    }
+
+    /**
+     * Prices one line against {@code rules}, for callers that also need the matched
+     * rule and so must look it up in the same table snapshot.
+     */
+    public DiscountedProductDto evaluate(ProductDto product, DiscountRuleTable rules) {
+        long unitPrice = Money.toMinor(product.getPrice());
+        int quantity = product.getQuantity();
+        long savings = lineSavings(rules, product.getCategory(), unitPrice, quantity);
+        long finalPrice = Math.multiplyExact(unitPrice, quantity) - savings;
+
+        return new DiscountedProductDto(
+                product.getId(),
+                product.getName(),
+                Money.toMajor(finalPrice),
+                Money.toMajor(savings)
+        );
+    }
+
+    /**
+     * Savings for one line priced against the given table, in minor units.
+     */
+    public long lineSavings(DiscountRuleTable rules, String category, long unitPrice, int quantity) {
+        return lineDiscountCache.savings(rules.find(category), unitPrice, quantity);
+    }
+
+    private boolean shouldSplit(int lineCount) {
+        DiscountProperties.Parallel parallel = discountProperties.getParallel();
+        // Splitting only pays off with more than one worker to share the chunks
+        return parallel.isEnabled()
+                && lineCount >= parallel.getThreshold()
+                && discountPricingPool.getParallelism() > 1;
+    }
+
+    private Totals priceRange(List<ProductDto> products, DiscountRuleTable rules,
+                              DiscountedProductDto[] lines, int from, int to) {
+        long totalSavings = 0L;
+        long finalBill = 0L;
+        // One slot per rule plus a trailing slot for lines no rule matched
+        long[] linesByRule = new long[rules.size() + 1];
+        long[] savingsByRule = new long[rules.size() + 1];
+
+        for (int i = from; i < to; i++) {
+            ProductDto product = products.get(i);
+            long unitPrice = Money.toMinor(product.getPrice());
+            int quantity = product.getQuantity();
+            DiscountRule rule = rules.find(product.getCategory());
+            long savings = lineDiscountCache.savings(rule, unitPrice, quantity);
+            long finalPrice = Math.multiplyExact(unitPrice, quantity) - savings;
+            int slot = rule != null ? rule.index() : rules.size();
+            linesByRule[slot]++;
+            savingsByRule[slot] += savings;
+            totalSavings += savings;
+            finalBill += finalPrice;
+            lines[i] = new DiscountedProductDto(
+                    product.getId(),
+                    product.getName(),
+                    Money.toMajor(finalPrice),
+                    Money.toMajor(savings)
+            );
+        }
+
+        return new Totals(totalSavings, finalBill, linesByRule, savingsByRule);
+    }
+
+    private static List<CategoryTotal> categoryTotals(DiscountRuleTable rules, Totals totals) {
+        List<String> categories = rules.getCategories();
+        List<CategoryTotal> categoryTotals = new ArrayList<>();
+        for (int slot = 0; slot < totals.linesByRule.length; slot++) {
+            if (totals.linesByRule[slot] > 0) {
+                String category = slot < categories.size() ? categories.get(slot) : CategoryTotal.UNMATCHED;
+                categoryTotals.add(new CategoryTotal(category, totals.linesByRule[slot], totals.savingsByRule[slot]));
+            }
+        }
+        return categoryTotals;
+    }
+
+    private record Totals(long savings, long finalBill, long[] linesByRule, long[] savingsByRule) {
+        Totals plus(Totals other) {
+            for (int slot = 0; slot < linesByRule.length; slot++) {
+                linesByRule[slot] += other.linesByRule[slot];
+                savingsByRule[slot] += other.savingsByRule[slot];
+            }
+            return new Totals(savings + other.savings, finalBill + other.finalBill, linesByRule, savingsByRule);
+        }
+    }
+
+    private final class PricingTask extends RecursiveTask<Totals> {
+
+        private final List<ProductDto> products;
+        private final DiscountRuleTable rules;
+        private final DiscountedProductDto[] lines;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        PricingTask(List<ProductDto> products, DiscountRuleTable rules, DiscountedProductDto[] lines,
+                    int from, int to, int chunkSize) {
+            this.products = products;
+            this.rules = rules;
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= chunkSize) {
+                return priceRange(products, rules, lines, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            PricingTask left = new PricingTask(products, rules, lines, from, middle, chunkSize);
+            left.fork();
+            Totals right = new PricingTask(products, rules, lines, middle, to, chunkSize).compute();
+            return left.join().plus(right);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.rule.CartRule;
+import com.ust_internal.productdiscountapi.rule.CartRuleTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies cart rules to an already line-priced cart. One pass aggregates quantity
+ * and post-line-discount totals per rule category, the rules are checked against
+ * those aggregates, {@link PromotionOptimizer} picks the best allowed combination of
+ * the satisfied ones, and a second pass allocates the discount to the target lines.
+ * Chosen rates add up per category, capped at 100% of the line.
+ */
+final class CartRulePhase {
+
+    static final Result NONE = new Result(0L, List.of(), true);
+
+    private CartRulePhase() {
+    }
+
+    static Result apply(CartRuleTable table, List<ProductDto> products, DiscountedProductDto[] lines,
+                        long cartTotal, long budgetNanos) {
+        if (table.isEmpty() || lines.length == 0) {
+            return NONE;
+        }
+
+        int other = table.slotCount();
+        int[] slotOf = new int[lines.length];
+        long[] quantityBySlot = new long[other + 1];
+        long[] totalBySlot = new long[other + 1];
+        for (int i = 0; i < lines.length; i++) {
+            ProductDto product = products.get(i);
+            int slot = table.slot(product.getCategory());
+            slotOf[i] = slot;
+            quantityBySlot[slot] += product.getQuantity();
+            totalBySlot[slot] += Money.toMinor(lines[i].getFinalPrice());
+        }
+
+        List<CartRule> candidates = new ArrayList<>();
+        for (CartRule rule : table.getRules()) {
+            int target = rule.targetSlot();
+            if (rule.isSatisfied(cartTotal, quantityBySlot)
+                    && (target == CartRule.WHOLE_CART ? cartTotal > 0 : totalBySlot[target] > 0)) {
+                candidates.add(rule);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return NONE;
+        }
+        PromotionOptimizer.Selection selection = PromotionOptimizer.select(candidates, totalBySlot, budgetNanos);
+
+        long cartBasisPoints = 0L;
+        long[] basisPointsBySlot = new long[other + 1];
+        List<String> applied = new ArrayList<>(selection.rules().size());
+        for (CartRule rule : selection.rules()) {
+            if (rule.targetSlot() == CartRule.WHOLE_CART) {
+                cartBasisPoints += rule.basisPoints();
+            } else {
+                basisPointsBySlot[rule.targetSlot()] += rule.basisPoints();
+            }
+            applied.add(rule.name());
+        }
+
+        long savings = 0L;
+        for (int i = 0; i < lines.length; i++) {
+            long basisPoints = Math.min(10_000L, cartBasisPoints + basisPointsBySlot[slotOf[i]]);
+            if (basisPoints == 0L) {
+                continue;
+            }
+            DiscountedProductDto line = lines[i];
+            long lineTotal = Money.toMinor(line.getFinalPrice());
+            long cartSavings = Money.percentOf(lineTotal, basisPoints);
+            line.setFinalPrice(Money.toMajor(lineTotal - cartSavings));
+            line.setSavings(Money.toMajor(Money.toMinor(line.getSavings()) + cartSavings));
+            line.setCartSavings(Money.toMajor(cartSavings));
+            savings += cartSavings;
+        }
+        return new Result(savings, List.copyOf(applied), selection.exhaustive());
+    }
+
+    /**
+     * @param exhaustive false when the optimizer ran out of time and fell back to the
+     *                   greedy combination
+     */
+    record Result(long savings, List<String> appliedRules, boolean exhaustive) {
+    }
+}
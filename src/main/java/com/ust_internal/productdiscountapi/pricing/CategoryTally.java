@@ -0,0 +1,34 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+import com.ust_internal.productdiscountapi.rule.DiscountRule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running {@link CategoryTotal}s for lines priced one at a time, as in the streaming
+ * endpoints, where there is no whole-cart evaluation to tally them. Not thread-safe.
+ */
+public final class CategoryTally {
+
+    // Per rule category: lines priced and savings in minor units
+    private final Map<String, long[]> totals = new LinkedHashMap<>();
+
+    /**
+     * Counts one line priced under {@code rule}, or under no rule when it is null.
+     */
+    public void add(DiscountRule rule, long savings) {
+        String category = rule != null ? rule.category() : CategoryTotal.UNMATCHED;
+        long[] total = totals.computeIfAbsent(category, key -> new long[2]);
+        total[0]++;
+        total[1] += savings;
+    }
+
+    public List<CategoryTotal> getTotals() {
+        List<CategoryTotal> categoryTotals = new ArrayList<>(totals.size());
+        totals.forEach((category, total) -> categoryTotals.add(new CategoryTotal(category, total[0], total[1])));
+        return categoryTotals;
+    }
+}
@@ -0,0 +1,10 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+/**
+ * Lines priced and savings issued, in minor units, for one rule category of a cart.
+ * Lines that matched no rule are grouped under {@link #UNMATCHED}.
+ */
+public record CategoryTotal(String category, long lines, long savings) {
+
+    public static final String UNMATCHED = "none";
+}
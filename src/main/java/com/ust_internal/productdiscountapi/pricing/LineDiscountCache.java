@@ -0,0 +1,83 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.rule.DiscountRule;
+import com.ust_internal.productdiscountapi.rule.DiscountRulesChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional bounded memo of per-line savings. The key is the compiled rule (which
+ * already normalises the category), the unit price in minor units and the quantity.
+ * Entries are dropped whenever the rule table is replaced.
+ */
+@Component
+public class LineDiscountCache implements MeterBinder {
+
+    private final Cache<LineKey, Long> cache;
+
+    public LineDiscountCache(DiscountProperties properties) {
+        DiscountProperties.Cache config = properties.getCache();
+        this.cache = config.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(config.getMaximumSize())
+                        .expireAfterWrite(config.getTtl())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    public long savings(DiscountRule rule, long unitPrice, int quantity) {
+        if (rule == null) {
+            return 0L;
+        }
+        if (cache == null) {
+            return rule.savings(unitPrice, quantity);
+        }
+        return cache.get(new LineKey(rule, unitPrice, quantity),
+                key -> key.rule().savings(key.unitPrice(), key.quantity()));
+    }
+
+    @EventListener
+    public void onRulesChanged(DiscountRulesChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "discount.line");
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public long size() {
+        return cache != null ? cache.estimatedSize() : 0L;
+    }
+
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    /**
+     * Rules are compared by identity, so an entry can never match a rule from a
+     * different table even before invalidation runs.
+     */
+    private record LineKey(DiscountRule rule, long unitPrice, int quantity) {
+    }
+}
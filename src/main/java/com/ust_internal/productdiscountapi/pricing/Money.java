@@ -0,0 +1,34 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+/**
+ * Conversions between the {@code Double} amounts used in the JSON contract and the
+ * {@code long} minor units (cents/paise) used for all internal arithmetic.
+ */
+public final class Money {
+
+    public static final int MINOR_UNITS_PER_MAJOR = 100;
+
+    // Largest price times quantity accepted for one line, in major units. Its minor units
+    // times a full rate of 10_000 basis points still fit in a long
+    public static final double MAX_LINE_TOTAL = 1e12;
+
+    private Money() {
+    }
+
+    public static long toMinor(double amount) {
+        return Math.round(amount * MINOR_UNITS_PER_MAJOR);
+    }
+
+    public static double toMajor(long minorUnits) {
+        return (double) minorUnits / MINOR_UNITS_PER_MAJOR;
+    }
+
+    /**
+     * Applies a rate expressed in basis points (1/100 of a percent), rounding half up.
+     *
+     * @throws ArithmeticException if the amount is too large to apply the rate to
+     */
+    public static long percentOf(long minorUnits, long basisPoints) {
+        return Math.addExact(Math.multiplyExact(minorUnits, basisPoints), 5_000) / 10_000;
+    }
+}
@@ -0,0 +1,224 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+import com.ust_internal.productdiscountapi.rule.CartRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chooses which satisfied cart rules to apply so the customer saves the most. Rules
+ * in the same group are alternatives, an exclusive rule applies alone, and everything
+ * else stacks with each category's combined rate capped at 100%.
+ * <p>
+ * Savings are estimated on per-category totals. The search walks the groups in
+ * declaration order, trying each group's options best first, and drops a branch once
+ * its value plus the best standalone value of every remaining group (and never more
+ * than the cart total) cannot beat the best combination so far. When no cap binds,
+ * the first combination tried (the best option of every group) meets that bound and
+ * the search stops at once. If the time budget runs out, that greedy combination is
+ * used, so the choice depends on timing only through whether the budget was hit.
+ */
+final class PromotionOptimizer {
+
+    private static final long FULL_RATE = 10_000L;
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+
+    private PromotionOptimizer() {
+    }
+
+    static Selection select(List<CartRule> candidates, long[] totalBySlot, long budgetNanos) {
+        if (candidates.isEmpty()) {
+            return new Selection(List.of(), true);
+        }
+
+        List<CartRule> exclusive = new ArrayList<>();
+        Map<Object, List<CartRule>> groups = new LinkedHashMap<>();
+        for (CartRule rule : candidates) {
+            if (rule.exclusive()) {
+                exclusive.add(rule);
+            } else {
+                // Ungrouped rules are a group of their own
+                groups.computeIfAbsent(rule.group() != null ? rule.group() : rule, key -> new ArrayList<>())
+                        .add(rule);
+            }
+        }
+
+        Search search = new Search(groups.values(), totalBySlot, budgetNanos);
+        search.run();
+
+        CartRule bestExclusive = null;
+        long exclusiveValue = 0L;
+        for (CartRule rule : exclusive) {
+            long value = standaloneValue(rule, totalBySlot);
+            if (bestExclusive == null || value > exclusiveValue) {
+                bestExclusive = rule;
+                exclusiveValue = value;
+            }
+        }
+        if (bestExclusive != null && (groups.isEmpty() || exclusiveValue > search.bestValue)) {
+            return new Selection(List.of(bestExclusive), !search.timedOut);
+        }
+        return new Selection(search.bestRules(), !search.timedOut);
+    }
+
+    static long standaloneValue(CartRule rule, long[] totalBySlot) {
+        return gain(rule, 0L, new long[totalBySlot.length], totalBySlot);
+    }
+
+    /**
+     * Extra savings from adding the rule on top of the rates already in place.
+     */
+    private static long gain(CartRule rule, long cartBasisPoints, long[] slotBasisPoints, long[] totalBySlot) {
+        int target = rule.targetSlot();
+        if (target != CartRule.WHOLE_CART) {
+            long current = cartBasisPoints + slotBasisPoints[target];
+            return savings(totalBySlot[target], current + rule.basisPoints()) - savings(totalBySlot[target], current);
+        }
+        long gain = 0L;
+        for (int slot = 0; slot < totalBySlot.length; slot++) {
+            long current = cartBasisPoints + slotBasisPoints[slot];
+            gain += savings(totalBySlot[slot], current + rule.basisPoints()) - savings(totalBySlot[slot], current);
+        }
+        return gain;
+    }
+
+    private static long savings(long total, long basisPoints) {
+        return Money.percentOf(total, Math.min(FULL_RATE, basisPoints));
+    }
+
+    record Selection(List<CartRule> rules, boolean exhaustive) {
+    }
+
+    private static final class Search {
+
+        private final CartRule[][] options;
+        // bounds[g]: best standalone value summed over groups g and later
+        private final long[] bounds;
+        // Nothing can save more than the whole cart
+        private final long capacity;
+        private final long[] totalBySlot;
+        private final long[] slotBasisPoints;
+        private final CartRule[] chosen;
+        private final long budgetNanos;
+        private long cartBasisPoints;
+        private CartRule[] best;
+        private long bestValue;
+        private long deadline;
+        private int nodes;
+        private boolean timedOut;
+
+        Search(Collection<List<CartRule>> groups, long[] totalBySlot, long budgetNanos) {
+            this.totalBySlot = totalBySlot;
+            this.slotBasisPoints = new long[totalBySlot.length];
+            this.budgetNanos = budgetNanos;
+            this.options = new CartRule[groups.size()][];
+            this.bounds = new long[groups.size() + 1];
+            this.chosen = new CartRule[groups.size()];
+            this.capacity = Arrays.stream(totalBySlot).sum();
+
+            long[] bestAlone = new long[groups.size()];
+            int g = 0;
+            for (List<CartRule> group : groups) {
+                long[] values = new long[group.size()];
+                Integer[] order = new Integer[group.size()];
+                for (int i = 0; i < group.size(); i++) {
+                    values[i] = standaloneValue(group.get(i), totalBySlot);
+                    order[i] = i;
+                }
+                // Stable sort: equal values keep declaration order
+                Arrays.sort(order, Comparator.comparingLong(i -> -values[i]));
+                options[g] = new CartRule[group.size()];
+                for (int i = 0; i < order.length; i++) {
+                    options[g][i] = group.get(order[i]);
+                }
+                bestAlone[g] = values[order[0]];
+                g++;
+            }
+            for (int i = options.length - 1; i >= 0; i--) {
+                bounds[i] = bounds[i + 1] + bestAlone[i];
+            }
+        }
+
+        void run() {
+            long greedyValue = 0L;
+            for (int g = 0; g < options.length; g++) {
+                greedyValue += gain(options[g][0], cartBasisPoints, slotBasisPoints, totalBySlot);
+                push(options[g][0]);
+                chosen[g] = options[g][0];
+            }
+            CartRule[] greedy = chosen.clone();
+            for (int g = 0; g < options.length; g++) {
+                pop(options[g][0]);
+                chosen[g] = null;
+            }
+
+            best = greedy;
+            bestValue = greedyValue;
+            if (greedyValue < Math.min(bounds[0], capacity)) {
+                deadline = System.nanoTime() + budgetNanos;
+                timedOut = budgetNanos <= 0;
+                if (!timedOut) {
+                    search(0, 0L);
+                }
+                if (timedOut) {
+                    best = greedy;
+                    bestValue = greedyValue;
+                }
+            }
+        }
+
+        List<CartRule> bestRules() {
+            return Arrays.stream(best)
+                    .filter(rule -> rule != null)
+                    .sorted(Comparator.comparingInt(CartRule::index))
+                    .toList();
+        }
+
+        private void search(int g, long value) {
+            if (value > bestValue) {
+                bestValue = value;
+                best = chosen.clone();
+            }
+            if (g == options.length || Math.min(value + bounds[g], capacity) <= bestValue) {
+                return;
+            }
+            if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                timedOut = true;
+                return;
+            }
+            for (CartRule rule : options[g]) {
+                long gain = gain(rule, cartBasisPoints, slotBasisPoints, totalBySlot);
+                push(rule);
+                chosen[g] = rule;
+                search(g + 1, value + gain);
+                pop(rule);
+                chosen[g] = null;
+                if (timedOut) {
+                    return;
+                }
+            }
+            search(g + 1, value);
+        }
+
+        private void push(CartRule rule) {
+            if (rule.targetSlot() == CartRule.WHOLE_CART) {
+                cartBasisPoints += rule.basisPoints();
+            } else {
+                slotBasisPoints[rule.targetSlot()] += rule.basisPoints();
+            }
+        }
+
+        private void pop(CartRule rule) {
+            if (rule.targetSlot() == CartRule.WHOLE_CART) {
+                cartBasisPoints -= rule.basisPoints();
+            } else {
+                slotBasisPoints[rule.targetSlot()] -= rule.basisPoints();
+            }
+        }
+    }
+}
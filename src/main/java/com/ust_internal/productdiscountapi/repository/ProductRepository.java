@@ -2,9 +2,38 @@ package com.ust_internal.productdiscountapi.repository;
 
 
 import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
-}
\ No newline at end of file
+public interface ProductRepository extends JpaRepository<ProductEntity, Long>, ProductRepositoryCustom {
+
+    /**
+     * Keyset page of a category ordered by id; pass {@code 0} for the first page.
+     * Results go through the query cache, so hot first pages skip the database.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ProductEntity> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, long afterId, Limit limit);
+
+    /**
+     * Keyset page of products priced up to {@code maxPrice}, ordered by (price, id) and
+     * starting after ({@code afterPrice}, {@code afterId}). For the first page pass the
+     * minimum price and id {@code 0}.
+     */
+    @Query("select p from ProductEntity p "
+            + "where p.price >= :afterPrice and p.price <= :maxPrice "
+            + "and (p.price > :afterPrice or p.id > :afterId) "
+            + "order by p.price, p.id")
+    List<ProductEntity> findPriceRangePage(@Param("afterPrice") double afterPrice,
+                                           @Param("afterId") long afterId,
+                                           @Param("maxPrice") double maxPrice,
+                                           Limit limit);
+}
@@ -0,0 +1,16 @@
+package com.ust_internal.productdiscountapi.repository;
+
+
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Loads products by id, taking them from the persistence context or second-level
+     * cache where possible and fetching the rest in one batched query. The result is
+     * aligned with {@code ids}: one element per id, {@code null} where no row exists.
+     */
+    List<ProductEntity> findAllByIdCached(List<Long> ids);
+}
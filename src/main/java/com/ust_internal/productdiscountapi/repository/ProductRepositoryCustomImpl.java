@@ -0,0 +1,28 @@
+package com.ust_internal.productdiscountapi.repository;
+
+
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductEntity> findAllByIdCached(List<Long> ids) {
+        // Unlike findAllById (a plain IN query), multiLoad consults the second-level cache first
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(ProductEntity.class)
+                .with(CacheMode.NORMAL)
+                .enableOrderedReturn(true)
+                .multiLoad(ids);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ust_internal.productdiscountapi.rule;
+
+final class BuyNGetMDiscountRule implements DiscountRule {
+
+    private final String category;
+    private final int index;
+    private final long minUnitPrice;
+    private final int minQuantity;
+    private final int groupSize;
+    private final int freeQuantity;
+
+    BuyNGetMDiscountRule(String category, int index, long minUnitPrice, int minQuantity, int buyQuantity, int freeQuantity) {
+        this.category = category;
+        this.index = index;
+        this.minUnitPrice = minUnitPrice;
+        this.minQuantity = minQuantity;
+        this.groupSize = buyQuantity + freeQuantity;
+        this.freeQuantity = freeQuantity;
+    }
+
+    @Override
+    public long savings(long unitPrice, int quantity) {
+        if (unitPrice < minUnitPrice || quantity < minQuantity) {
+            return 0L;
+        }
+        long freeItems = (long) (quantity / groupSize) * freeQuantity;
+        return freeItems * unitPrice;
+    }
+
+    @Override
+    public String category() {
+        return category;
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+}
@@ -0,0 +1,71 @@
+package com.ust_internal.productdiscountapi.rule;
+
+/**
+ * Compiled cart rule. Categories are resolved to {@link CartRuleTable} slots so a
+ * rule is checked against the per-slot aggregates with array reads only.
+ */
+public final class CartRule {
+
+    public static final int WHOLE_CART = -1;
+
+    private final String name;
+    private final long basisPoints;
+    private final long minCartTotal;
+    private final int triggerSlot;
+    private final long triggerQuantity;
+    private final int targetSlot;
+    private final String group;
+    private final boolean exclusive;
+    private final int index;
+
+    CartRule(String name, long basisPoints, long minCartTotal, int triggerSlot, long triggerQuantity,
+             int targetSlot, String group, boolean exclusive, int index) {
+        this.name = name;
+        this.basisPoints = basisPoints;
+        this.minCartTotal = minCartTotal;
+        this.triggerSlot = triggerSlot;
+        this.triggerQuantity = triggerQuantity;
+        this.targetSlot = targetSlot;
+        this.group = group;
+        this.exclusive = exclusive;
+        this.index = index;
+    }
+
+    public boolean isSatisfied(long cartTotal, long[] quantityBySlot) {
+        return cartTotal >= minCartTotal
+                && (triggerSlot < 0 || quantityBySlot[triggerSlot] >= triggerQuantity);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long basisPoints() {
+        return basisPoints;
+    }
+
+    /**
+     * Slot of the discounted category, or {@link #WHOLE_CART}.
+     */
+    public int targetSlot() {
+        return targetSlot;
+    }
+
+    /**
+     * Name of the group of mutually exclusive alternatives, or {@code null}.
+     */
+    public String group() {
+        return group;
+    }
+
+    public boolean exclusive() {
+        return exclusive;
+    }
+
+    /**
+     * Declaration order within the table; used to break ties deterministically.
+     */
+    public int index() {
+        return index;
+    }
+}
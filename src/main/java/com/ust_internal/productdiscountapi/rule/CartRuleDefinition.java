@@ -0,0 +1,37 @@
+package com.ust_internal.productdiscountapi.rule;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A promotion evaluated over the whole cart after per-line pricing, e.g. "10% off
+ * the cart above 50,000" or "buy 2 electronics, get 5% off clothing".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartRuleDefinition {
+    private String name;
+
+    // Rate taken off the target amount after line discounts
+    private Double percentage;
+
+    // Cart total after line discounts that must be reached; null for no minimum
+    private Double minCartTotal;
+
+    // Optional trigger: at least triggerQuantity units of triggerCategory in the cart
+    private String triggerCategory;
+    private Integer triggerQuantity;
+
+    // Category the percentage is taken off; null means the whole cart
+    private String targetCategory;
+
+    // Rules sharing a group are alternatives: at most one of them applies
+    private String group;
+
+    // An exclusive rule never combines with any other cart rule
+    private boolean exclusive;
+}
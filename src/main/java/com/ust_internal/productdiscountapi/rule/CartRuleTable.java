@@ -0,0 +1,134 @@
+package com.ust_internal.productdiscountapi.rule;
+
+import com.ust_internal.productdiscountapi.exception.InvalidDiscountRuleException;
+import com.ust_internal.productdiscountapi.pricing.Money;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable set of compiled cart rules. Every category a rule mentions gets a slot;
+ * all other categories share the trailing slot {@link #slotCount()}.
+ */
+public final class CartRuleTable {
+
+    public static final CartRuleTable EMPTY = new CartRuleTable(List.of(), new TreeMap<>(), List.of());
+
+    private final List<CartRule> rules;
+    private final Map<String, Integer> slots;
+    private final List<CartRuleDefinition> definitions;
+
+    private CartRuleTable(List<CartRule> rules, Map<String, Integer> slots, List<CartRuleDefinition> definitions) {
+        this.rules = rules;
+        this.slots = slots;
+        this.definitions = definitions;
+    }
+
+    public static CartRuleTable compile(List<CartRuleDefinition> definitions) {
+        if (definitions == null || definitions.isEmpty()) {
+            return EMPTY;
+        }
+        TreeMap<String, Integer> slots = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Set<String> names = new HashSet<>();
+        List<CartRule> rules = new ArrayList<>();
+        for (CartRuleDefinition definition : definitions) {
+            String name = definition.getName();
+            if (name == null || name.isBlank()) {
+                throw new InvalidDiscountRuleException("Cart rule name is required");
+            }
+            if (!names.add(name.trim())) {
+                throw new InvalidDiscountRuleException(String.format("Duplicate cart rule: %s", name));
+            }
+            rules.add(compileRule(definition, name.trim(), slots, rules.size()));
+        }
+        return new CartRuleTable(List.copyOf(rules), slots,
+                definitions.stream().map(CartRuleTable::copyOf).toList());
+    }
+
+    public List<CartRule> getRules() {
+        return rules;
+    }
+
+    public List<CartRuleDefinition> getDefinitions() {
+        return definitions.stream()
+                .map(CartRuleTable::copyOf)
+                .toList();
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    public int slotCount() {
+        return slots.size();
+    }
+
+    /**
+     * Slot for the category, or {@link #slotCount()} when no cart rule mentions it.
+     */
+    public int slot(String category) {
+        if (category == null) {
+            return slots.size();
+        }
+        Integer slot = slots.get(category);
+        return slot != null ? slot : slots.size();
+    }
+
+    private static CartRule compileRule(CartRuleDefinition definition, String name, Map<String, Integer> slots,
+                                        int index) {
+        Double percentage = definition.getPercentage();
+        if (percentage == null || percentage <= 0 || percentage > 100) {
+            throw invalid(name, "percentage must be greater than 0 and at most 100");
+        }
+        Double minCartTotal = definition.getMinCartTotal();
+        if (minCartTotal != null && minCartTotal < 0) {
+            throw invalid(name, "minimum cart total must be zero or greater");
+        }
+
+        int triggerSlot = CartRule.WHOLE_CART;
+        long triggerQuantity = 0L;
+        if (definition.getTriggerCategory() != null) {
+            Integer quantity = definition.getTriggerQuantity();
+            if (quantity == null || quantity < 1) {
+                throw invalid(name, "trigger quantity must be greater than 0");
+            }
+            triggerSlot = slotFor(definition.getTriggerCategory(), slots);
+            triggerQuantity = quantity;
+        }
+        int targetSlot = definition.getTargetCategory() != null
+                ? slotFor(definition.getTargetCategory(), slots)
+                : CartRule.WHOLE_CART;
+        String group = definition.getGroup() != null && !definition.getGroup().isBlank()
+                ? definition.getGroup().trim()
+                : null;
+
+        return new CartRule(name, Math.round(percentage * 100),
+                minCartTotal != null ? Money.toMinor(minCartTotal) : 0L,
+                triggerSlot, triggerQuantity, targetSlot, group, definition.isExclusive(), index);
+    }
+
+    private static int slotFor(String category, Map<String, Integer> slots) {
+        return slots.computeIfAbsent(category.trim(), key -> slots.size());
+    }
+
+    private static InvalidDiscountRuleException invalid(String name, String reason) {
+        return new InvalidDiscountRuleException(String.format("Invalid cart rule %s: %s", name, reason));
+    }
+
+    private static CartRuleDefinition copyOf(CartRuleDefinition definition) {
+        return new CartRuleDefinition(
+                definition.getName(),
+                definition.getPercentage(),
+                definition.getMinCartTotal(),
+                definition.getTriggerCategory(),
+                definition.getTriggerQuantity(),
+                definition.getTargetCategory(),
+                definition.getGroup(),
+                definition.isExclusive()
+        );
+    }
+}
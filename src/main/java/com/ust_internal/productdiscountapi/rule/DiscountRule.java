@@ -0,0 +1,25 @@
+package com.ust_internal.productdiscountapi.rule;
+
+/**
+ * A compiled, immutable discount rule. Implementations must be thread-safe and
+ * must not allocate on the pricing path.
+ */
+public interface DiscountRule {
+
+    /**
+     * Returns the savings, in minor units, for a line of {@code quantity} items at
+     * {@code unitPrice} minor units, or {@code 0} when the rule's threshold is not met.
+     */
+    long savings(long unitPrice, int quantity);
+
+    /**
+     * Returns the category this rule was compiled for, as written in its definition.
+     */
+    String category();
+
+    /**
+     * Returns this rule's position in its table, from {@code 0} to {@code size() - 1}.
+     * Lets callers keep per-category tallies in plain arrays.
+     */
+    int index();
+}
@@ -0,0 +1,27 @@
+package com.ust_internal.productdiscountapi.rule;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiscountRuleDefinition {
+    private String category;
+    private RuleType type;
+
+    @Builder.Default
+    private ThresholdType thresholdType = ThresholdType.NONE;
+
+    private Double threshold;
+
+    // PERCENTAGE rules
+    private Double percentage;
+
+    // BUY_N_GET_M rules
+    private Integer buyQuantity;
+    private Integer freeQuantity;
+}
@@ -0,0 +1,58 @@
+package com.ust_internal.productdiscountapi.rule;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Holds the active {@link DiscountRuleTable}. Readers see either the old or the new
+ * table in full; a reload compiles off to the side and swaps the reference. Cart
+ * rules are compiled once from {@code discount.cart-rules} at startup.
+ */
+@Slf4j
+@Component
+public class DiscountRuleEngine {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile DiscountRuleTable table;
+    private final CartRuleTable cartRules;
+
+    public DiscountRuleEngine(DiscountProperties properties) {
+        this(properties, event -> {
+        });
+    }
+
+    @Autowired
+    public DiscountRuleEngine(DiscountProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        this.table = DiscountRuleTable.compile(properties.getRules());
+        this.cartRules = CartRuleTable.compile(properties.getCartRules());
+    }
+
+    public DiscountRule find(String category) {
+        return table.find(category);
+    }
+
+    public DiscountRuleTable getTable() {
+        return table;
+    }
+
+    public CartRuleTable getCartRules() {
+        return cartRules;
+    }
+
+    public List<DiscountRuleDefinition> getDefinitions() {
+        return table.getDefinitions();
+    }
+
+    public void reload(List<DiscountRuleDefinition> definitions) {
+        DiscountRuleTable compiled = DiscountRuleTable.compile(definitions);
+        table = compiled;
+        log.info("Loaded {} discount rules", compiled.size());
+        eventPublisher.publishEvent(new DiscountRulesChangedEvent(compiled));
+    }
+}
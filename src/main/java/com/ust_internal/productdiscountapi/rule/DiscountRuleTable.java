@@ -0,0 +1,139 @@
+package com.ust_internal.productdiscountapi.rule;
+
+import com.ust_internal.productdiscountapi.exception.InvalidDiscountRuleException;
+import com.ust_internal.productdiscountapi.pricing.Money;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable category-indexed table of compiled rules. Lookups are
+ * case-insensitive without lowercasing the category on every call.
+ */
+public final class DiscountRuleTable {
+
+    private final Map<String, DiscountRule> rulesByCategory;
+    private final List<String> categories;
+    private final List<DiscountRuleDefinition> definitions;
+
+    private DiscountRuleTable(Map<String, DiscountRule> rulesByCategory, List<String> categories,
+                              List<DiscountRuleDefinition> definitions) {
+        this.rulesByCategory = rulesByCategory;
+        this.categories = categories;
+        this.definitions = definitions;
+    }
+
+    public static DiscountRuleTable compile(List<DiscountRuleDefinition> definitions) {
+        TreeMap<String, DiscountRule> rules = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> categories = new ArrayList<>();
+        if (definitions != null) {
+            for (DiscountRuleDefinition definition : definitions) {
+                if (definition == null) {
+                    throw new InvalidDiscountRuleException("Discount rule must not be null");
+                }
+                if (definition.getCategory() == null || definition.getCategory().isBlank()) {
+                    throw new InvalidDiscountRuleException("Discount rule category is required");
+                }
+                String category = definition.getCategory().trim();
+                if (rules.containsKey(category)) {
+                    throw new InvalidDiscountRuleException(
+                            String.format("Duplicate discount rule for category: %s", category));
+                }
+                rules.put(category, compileRule(definition, category, categories.size()));
+                categories.add(category);
+            }
+        }
+        List<DiscountRuleDefinition> copies = definitions == null ? List.of() : definitions.stream()
+                .map(DiscountRuleTable::copyOf)
+                .toList();
+        return new DiscountRuleTable(Collections.unmodifiableMap(rules), List.copyOf(categories), copies);
+    }
+
+    /**
+     * Returns the compiled rule for the category, or {@code null} when no rule applies.
+     */
+    public DiscountRule find(String category) {
+        if (category == null) {
+            return null;
+        }
+        return rulesByCategory.get(category);
+    }
+
+    public List<DiscountRuleDefinition> getDefinitions() {
+        return definitions.stream()
+                .map(DiscountRuleTable::copyOf)
+                .toList();
+    }
+
+    /**
+     * Returns the rule categories in {@link DiscountRule#index()} order.
+     */
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public int size() {
+        return rulesByCategory.size();
+    }
+
+    private static DiscountRule compileRule(DiscountRuleDefinition definition, String category, int index) {
+        if (definition.getType() == null) {
+            throw invalid(definition, "rule type is required");
+        }
+
+        long minUnitPrice = 0L;
+        int minQuantity = 0;
+        ThresholdType thresholdType = definition.getThresholdType() != null
+                ? definition.getThresholdType()
+                : ThresholdType.NONE;
+        if (thresholdType != ThresholdType.NONE) {
+            Double threshold = definition.getThreshold();
+            if (threshold == null || threshold < 0) {
+                throw invalid(definition, "threshold must be zero or greater");
+            }
+            if (thresholdType == ThresholdType.PRICE) {
+                minUnitPrice = Money.toMinor(threshold);
+            } else {
+                minQuantity = (int) Math.ceil(threshold);
+            }
+        }
+
+        return switch (definition.getType()) {
+            case PERCENTAGE -> {
+                Double percentage = definition.getPercentage();
+                if (percentage == null || percentage <= 0 || percentage > 100) {
+                    throw invalid(definition, "percentage must be greater than 0 and at most 100");
+                }
+                yield new PercentageDiscountRule(category, index, minUnitPrice, minQuantity, percentage);
+            }
+            case BUY_N_GET_M -> {
+                Integer buy = definition.getBuyQuantity();
+                Integer free = definition.getFreeQuantity();
+                if (buy == null || buy < 1 || free == null || free < 1) {
+                    throw invalid(definition, "buy and free quantities must be greater than 0");
+                }
+                yield new BuyNGetMDiscountRule(category, index, minUnitPrice, minQuantity, buy, free);
+            }
+        };
+    }
+
+    private static InvalidDiscountRuleException invalid(DiscountRuleDefinition definition, String reason) {
+        return new InvalidDiscountRuleException(
+                String.format("Invalid discount rule for category %s: %s", definition.getCategory(), reason));
+    }
+
+    private static DiscountRuleDefinition copyOf(DiscountRuleDefinition definition) {
+        return new DiscountRuleDefinition(
+                definition.getCategory(),
+                definition.getType(),
+                definition.getThresholdType(),
+                definition.getThreshold(),
+                definition.getPercentage(),
+                definition.getBuyQuantity(),
+                definition.getFreeQuantity()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.rule;
+
+/**
+ * Published after a new rule table has been swapped in.
+ */
+public record DiscountRulesChangedEvent(DiscountRuleTable table) {
+}
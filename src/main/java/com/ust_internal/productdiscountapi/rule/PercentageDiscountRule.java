@@ -0,0 +1,38 @@
+package com.ust_internal.productdiscountapi.rule;
+
+import com.ust_internal.productdiscountapi.pricing.Money;
+
+final class PercentageDiscountRule implements DiscountRule {
+
+    private final String category;
+    private final int index;
+    private final long minUnitPrice;
+    private final int minQuantity;
+    private final long basisPoints;
+
+    PercentageDiscountRule(String category, int index, long minUnitPrice, int minQuantity, double percentage) {
+        this.category = category;
+        this.index = index;
+        this.minUnitPrice = minUnitPrice;
+        this.minQuantity = minQuantity;
+        this.basisPoints = Math.round(percentage * 100);
+    }
+
+    @Override
+    public long savings(long unitPrice, int quantity) {
+        if (unitPrice < minUnitPrice || quantity < minQuantity) {
+            return 0L;
+        }
+        return Money.percentOf(Math.multiplyExact(unitPrice, quantity), basisPoints);
+    }
+
+    @Override
+    public String category() {
+        return category;
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+}
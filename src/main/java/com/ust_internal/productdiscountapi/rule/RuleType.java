@@ -0,0 +1,6 @@
+package com.ust_internal.productdiscountapi.rule;
+
+public enum RuleType {
+    PERCENTAGE,
+    BUY_N_GET_M
+}
@@ -0,0 +1,7 @@
+package com.ust_internal.productdiscountapi.rule;
+
+public enum ThresholdType {
+    NONE,
+    PRICE,
+    QUANTITY
+}
@@ -0,0 +1,14 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import com.ust_internal.productdiscountapi.dto.CartDto;
+import com.ust_internal.productdiscountapi.dto.CartUpdateDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+
+public interface CartService {
+    CartDto createCart();
+    CartDto getCart(String cartId);
+    CartUpdateDto putLine(String cartId, String lineId, ProductDto product);
+    CartUpdateDto removeLine(String cartId, String lineId);
+    void deleteCart(String cartId);
+}
@@ -0,0 +1,130 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import com.ust_internal.productdiscountapi.cart.CartLine;
+import com.ust_internal.productdiscountapi.cart.CartSession;
+import com.ust_internal.productdiscountapi.cart.CartSessionStore;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.CartDto;
+import com.ust_internal.productdiscountapi.dto.CartLineDto;
+import com.ust_internal.productdiscountapi.dto.CartUpdateDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.exception.CartLimitExceededException;
+import com.ust_internal.productdiscountapi.exception.CartNotFoundException;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluator;
+import com.ust_internal.productdiscountapi.pricing.Money;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleTable;
+import com.ust_internal.productdiscountapi.validation.ProductValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stateful carts priced one line at a time. Adding, changing or removing a line
+ * prices only that line and adjusts the stored totals, so a change costs the same
+ * for a 5-line and a 500-line cart. If the rule table has been reloaded since the
+ * cart was last priced, the whole cart is re-priced once on its next access.
+ */
+@Service
+@RequiredArgsConstructor
+public class CartServiceImpl implements CartService {
+
+    private final CartSessionStore cartSessionStore;
+    private final CartEvaluator cartEvaluator;
+    private final DiscountRuleEngine discountRuleEngine;
+    private final ProductValidator productValidator;
+    private final DiscountProperties discountProperties;
+
+    @Override
+    public CartDto createCart() {
+        CartSession cart = new CartSession(UUID.randomUUID().toString(), discountRuleEngine.getTable());
+        cartSessionStore.put(cart);
+        return cart.locked(() -> toDto(cart));
+    }
+
+    @Override
+    public CartDto getCart(String cartId) {
+        CartSession cart = findCart(cartId);
+        return cart.locked(() -> {
+            refresh(cart);
+            return toDto(cart);
+        });
+    }
+
+    @Override
+    public CartUpdateDto putLine(String cartId, String lineId, ProductDto product) {
+        productValidator.validate(product).throwIfInvalid();
+        CartSession cart = findCart(cartId);
+        return cart.locked(() -> {
+            refresh(cart);
+            int maxLines = discountProperties.getCart().getMaxLines();
+            if (!cart.contains(lineId) && cart.size() >= maxLines) {
+                throw new CartLimitExceededException(
+                        String.format("Cart %s already has the maximum of %d lines", cartId, maxLines));
+            }
+            CartLine line = priceLine(cart.getRules(), lineId, product.getId(), product.getName(),
+                    product.getCategory(), Money.toMinor(product.getPrice()), product.getQuantity());
+            cart.put(line);
+            return toUpdate(cart, toLineDto(line));
+        });
+    }
+
+    @Override
+    public CartUpdateDto removeLine(String cartId, String lineId) {
+        CartSession cart = findCart(cartId);
+        return cart.locked(() -> {
+            refresh(cart);
+            cart.remove(lineId);
+            return toUpdate(cart, null);
+        });
+    }
+
+    @Override
+    public void deleteCart(String cartId) {
+        cartSessionStore.remove(findCart(cartId).getId());
+    }
+
+    private CartSession findCart(String cartId) {
+        CartSession cart = cartSessionStore.get(cartId);
+        if (cart == null) {
+            throw new CartNotFoundException(String.format("Cart not found: %s", cartId));
+        }
+        return cart;
+    }
+
+    private void refresh(CartSession cart) {
+        DiscountRuleTable current = discountRuleEngine.getTable();
+        if (cart.getRules() != current) {
+            cart.reprice(current, line -> priceLine(current, line.lineId(), line.productId(), line.name(),
+                    line.category(), line.unitPrice(), line.quantity()));
+        }
+    }
+
+    private CartLine priceLine(DiscountRuleTable rules, String lineId, Long productId, String name,
+                               String category, long unitPrice, int quantity) {
+        long savings = cartEvaluator.lineSavings(rules, category, unitPrice, quantity);
+        long finalPrice = Math.multiplyExact(unitPrice, quantity) - savings;
+        return new CartLine(lineId, productId, name, category, unitPrice, quantity, savings, finalPrice);
+    }
+
+    private static CartDto toDto(CartSession cart) {
+        List<CartLineDto> lines = cart.getLines().stream()
+                .map(CartServiceImpl::toLineDto)
+                .toList();
+        return new CartDto(cart.getId(), lines, Money.toMajor(cart.getTotalSavings()),
+                Money.toMajor(cart.getFinalBill()));
+    }
+
+    private static CartUpdateDto toUpdate(CartSession cart, CartLineDto line) {
+        return new CartUpdateDto(cart.getId(), line, cart.size(), Money.toMajor(cart.getTotalSavings()),
+                Money.toMajor(cart.getFinalBill()));
+    }
+
+    private static CartLineDto toLineDto(CartLine line) {
+        return new CartLineDto(line.lineId(), line.productId(), line.name(), line.quantity(),
+                Money.toMajor(line.finalPrice()), Money.toMajor(line.savings()));
+    }
+}
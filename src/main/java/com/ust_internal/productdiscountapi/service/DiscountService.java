@@ -1,10 +1,22 @@
 package com.ust_internal.productdiscountapi.service;
 
 
+import com.ust_internal.productdiscountapi.dto.BatchDiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountResponseDto;
 import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
 import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleTable;
 
 public interface DiscountService {
     DiscountResponseDto calculateDiscount(DiscountRequestDto requestDto);
+    DiscountResponseDto calculateDiscountPartial(DiscountRequestDto requestDto);
+    BatchDiscountResponseDto calculateDiscountBatch(BatchDiscountRequestDto requestDto);
+    DiscountResponseDto repriceProducts(RepriceRequestDto requestDto);
     DiscountResponseDto calculateDiscountAndSave(DiscountRequestDto requestDto);
+    DiscountResponseDto calculateDiscountAndSave(DiscountRequestDto requestDto, String idempotencyKey);
+    DiscountedProductDto applyDiscount(ProductDto product);
+    DiscountedProductDto applyDiscount(ProductDto product, DiscountRuleTable rules);
 }
\ No newline at end of file
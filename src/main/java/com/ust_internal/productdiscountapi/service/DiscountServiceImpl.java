@@ -1,18 +1,40 @@
 package com.ust_internal.productdiscountapi.service;
 
 
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.CartRequestDto;
+import com.ust_internal.productdiscountapi.dto.CartResultDto;
 import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
 import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
 import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.LineErrorDto;
 import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceItemDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
 import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import com.ust_internal.productdiscountapi.exception.BatchLimitExceededException;
 import com.ust_internal.productdiscountapi.exception.InvalidProductException;
+import com.ust_internal.productdiscountapi.exception.ProductNotFoundException;
+import com.ust_internal.productdiscountapi.idempotency.DiscountRequestCoalescer;
+import com.ust_internal.productdiscountapi.idempotency.IdempotencyStore;
+import com.ust_internal.productdiscountapi.idempotency.RequestFingerprint;
 import com.ust_internal.productdiscountapi.mapper.ProductMapper;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.persistence.ProductWriteBehindQueue;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluation;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluator;
 import com.ust_internal.productdiscountapi.repository.ProductRepository;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleTable;
+import com.ust_internal.productdiscountapi.validation.ProductValidator;
+import com.ust_internal.productdiscountapi.validation.ValidationResult;
+import com.ust_internal.productdiscountapi.validation.Violation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,25 +44,161 @@ public class DiscountServiceImpl implements DiscountService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final CartEvaluator cartEvaluator;
+    private final DiscountMetrics discountMetrics;
+    private final ProductValidator productValidator;
+    private final DiscountProperties discountProperties;
+    private final ProductWriteBehindQueue productWriteBehindQueue;
+    private final IdempotencyStore idempotencyStore;
+    private final RequestFingerprint requestFingerprint;
+    private final DiscountRequestCoalescer discountRequestCoalescer;
 
     @Override
     public DiscountResponseDto calculateDiscount(DiscountRequestDto requestDto) {
-        List<DiscountedProductDto> discountedProducts = requestDto.getProducts().stream()
-                .map(this::applyDiscount)
-                .collect(Collectors.toList());
+        if (discountProperties.getCoalescing().isEnabled()) {
+            return discountRequestCoalescer.execute(requestDto, () -> calculate(requestDto));
+        }
+        return calculate(requestDto);
+    }
+
+    private DiscountResponseDto calculate(DiscountRequestDto requestDto) {
+        List<ProductDto> products = requestDto.getProducts();
+        productValidator.validate(products).throwIfInvalid();
+
+        return price(products);
+    }
+
+    /**
+     * Prices the valid lines and reports the rest as per-index errors; totals only
+     * cover the priced lines, which keep their original relative order.
+     */
+    @Override
+    public DiscountResponseDto calculateDiscountPartial(DiscountRequestDto requestDto) {
+        List<ProductDto> products = requestDto.getProducts();
+        if (products == null || products.isEmpty()) {
+            throw new InvalidProductException("At least one product is required");
+        }
 
-        return buildResponse(discountedProducts);
+        ValidationResult validation = productValidator.validate(products);
+        if (validation.isValid()) {
+            return price(products);
+        }
+
+        BitSet rejected = new BitSet(products.size());
+        for (Violation violation : validation.getViolations()) {
+            rejected.set(violation.index());
+        }
+        List<ProductDto> accepted = new ArrayList<>(products.size() - rejected.cardinality());
+        for (int i = rejected.nextClearBit(0); i < products.size(); i = rejected.nextClearBit(i + 1)) {
+            accepted.add(products.get(i));
+        }
+
+        DiscountResponseDto response = price(accepted);
+        response.setErrors(toLineErrors(validation));
+        return response;
+    }
+
+    /**
+     * Prices each cart independently: a cart with invalid lines is rejected with its
+     * line errors while the other carts are still priced.
+     */
+    @Override
+    public BatchDiscountResponseDto calculateDiscountBatch(BatchDiscountRequestDto requestDto) {
+        List<CartRequestDto> carts = requestDto.getCarts();
+        checkBatchLimits(carts);
+
+        List<CartResultDto> results = new ArrayList<>(carts.size());
+        for (CartRequestDto cart : carts) {
+            results.add(priceCart(cart));
+        }
+        return new BatchDiscountResponseDto(results);
+    }
+
+    /**
+     * Prices stored products at the requested quantities. Rows come from the
+     * second-level cache where possible; the rest are loaded in one query.
+     */
+    @Override
+    public DiscountResponseDto repriceProducts(RepriceRequestDto requestDto) {
+        List<RepriceItemDto> items = requestDto.getItems();
+        int maxItems = discountProperties.getReprice().getMaxItems();
+        if (items.size() > maxItems) {
+            throw new BatchLimitExceededException(String.format(
+                    "Reprice has %d items; at most %d are allowed", items.size(), maxItems));
+        }
+        List<Long> ids = new ArrayList<>(items.size());
+        for (RepriceItemDto item : items) {
+            ids.add(item.getId());
+        }
+        List<ProductEntity> entities = productRepository.findAllByIdCached(ids);
+
+        List<ProductDto> products = new ArrayList<>(items.size());
+        List<Long> missing = null;
+        for (int i = 0; i < items.size(); i++) {
+            ProductEntity entity = entities.get(i);
+            if (entity == null) {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(ids.get(i));
+                continue;
+            }
+            ProductDto product = productMapper.toDto(entity);
+            product.setQuantity(items.get(i).getQuantity());
+            products.add(product);
+        }
+        if (missing != null) {
+            throw new ProductNotFoundException(String.format("Products not found: %s", missing));
+        }
+
+        productValidator.validate(products).throwIfInvalid();
+        return price(products);
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public DiscountResponseDto calculateDiscountAndSave(DiscountRequestDto requestDto) {
+        return calculateDiscountAndSave(requestDto, null);
+    }
+
+    /**
+     * Saves at most once per idempotency key (or, with
+     * {@code discount.idempotency.body-hash-fallback}, per request body); a retried or
+     * concurrent duplicate gets the stored response without touching the database.
+     */
+    @Override
+    public DiscountResponseDto calculateDiscountAndSave(DiscountRequestDto requestDto, String idempotencyKey) {
         if (requestDto == null || requestDto.getProducts() == null) {
             throw new IllegalArgumentException("Request DTO and products must not be null");
         }
 
-        // Validate all products before saving
-        requestDto.getProducts().forEach(this::validateProduct);
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        if (!keyed && !discountProperties.getIdempotency().isBodyHashFallback()) {
+            return save(requestDto, null);
+        }
+        String fingerprint = requestFingerprint.of(requestDto);
+        String key = keyed ? "key:" + idempotencyKey : "body:" + fingerprint;
+        // A write-behind flush that fails later forgets the key, so a retry saves again
+        // instead of replaying a response for products that were never stored
+        return idempotencyStore.execute(key, fingerprint, forget -> save(requestDto, forget));
+    }
+
+    /**
+     * Not transactional itself: {@code saveAll} runs in its own transaction, so no
+     * connection is held while the cart is priced or, in write-behind mode, at all.
+     *
+     * @param onLostWrite run if queued products are later dropped by a failed flush; may be null
+     */
+    private DiscountResponseDto save(DiscountRequestDto requestDto, Runnable onLostWrite) {
+        // Validate all products before saving; the saved copies are not validated again
+        productValidator.validate(requestDto.getProducts()).throwIfInvalid();
+
+        if (productWriteBehindQueue.isEnabled()) {
+            // Priced from the request; queued products get their IDs when the writer flushes them
+            productWriteBehindQueue.enqueue(requestDto.getProducts().stream()
+                    .map(productMapper::toEntity)
+                    .toList(), onLostWrite);
+            return price(requestDto.getProducts());
+        }
 
         try {
             // Map DTOs to entities and save
@@ -48,77 +206,82 @@ public class DiscountServiceImpl implements DiscountService {
                     .map(productMapper::toEntity)
                     .collect(Collectors.toList());
 
-            List<ProductEntity> savedEntities = productRepository.saveAll(productEntities);
+            List<ProductEntity> savedEntities = discountMetrics.timeSave(() -> productRepository.saveAll(productEntities));
 
             // Map saved entities back to DTOs for consistency
             List<ProductDto> savedProductDto = savedEntities.stream()
                     .map(productMapper::toDto)
                     .collect(Collectors.toList());
 
-            // Create new request with saved products (including generated IDs)
-            DiscountRequestDto savedRequest = new DiscountRequestDto(savedProductDto);
-
-            // Calculate and return discount
-            return calculateDiscount(savedRequest);
+            // Calculate and return discount for the saved products (including generated IDs)
+            return price(savedProductDto);
         } catch (Exception e) {
             throw new RuntimeException("Failed to save products and calculate discount", e);
         }
     }
 
-    DiscountedProductDto applyDiscount(ProductDto product) {
+    @Override
+    public DiscountedProductDto applyDiscount(ProductDto product) {
         validateProduct(product);
         
-        double originalPrice = product.getPrice() * product.getQuantity();
-        double finalPrice = originalPrice;
-        double savings = 0.0;
-
-        switch (product.getCategory().toLowerCase()) {
-            case "electronics" -> {
-                if (product.getPrice() >= 20000) {
-                    savings = originalPrice * 0.10;
-                    finalPrice = originalPrice - savings;
-                }
-            }
-            case "clothing" -> {
-                if (product.getQuantity() >= 3) {
-                    int freeItems = product.getQuantity() / 3;
-                    savings = freeItems * product.getPrice();
-                    finalPrice = originalPrice - savings;
-                }
-            }
-            case "grocery" -> {
-                if (product.getQuantity() >= 10) {
-                    savings = originalPrice * 0.05;
-                    finalPrice = originalPrice - savings;
-                }
-            }
-        }
+        return cartEvaluator.evaluate(product);
+    }
+
+    @Override
+    public DiscountedProductDto applyDiscount(ProductDto product, DiscountRuleTable rules) {
+        validateProduct(product);
 
-        return new DiscountedProductDto(
-                product.getId(),
-                product.getName(),
-                finalPrice,
-                savings
-        );
+        return cartEvaluator.evaluate(product, rules);
     }
 
     void validateProduct(ProductDto product) {
-        if (product.getQuantity() <= 0 || product.getPrice() <= 0) {
-            throw new InvalidProductException(
-                    String.format("Invalid product: %s. Quantity and price must be greater than 0", product.getName())
-            );
+        productValidator.validate(product).throwIfInvalid();
+    }
+
+    private CartResultDto priceCart(CartRequestDto cart) {
+        if (cart == null) {
+            return new CartResultDto(null, null, "Cart is required", null);
+        }
+        List<ProductDto> products = cart.getProducts();
+        if (products == null || products.isEmpty()) {
+            return new CartResultDto(cart.getCorrelationId(), null, "At least one product is required", null);
+        }
+        ValidationResult validation = productValidator.validate(products);
+        if (!validation.isValid()) {
+            return new CartResultDto(cart.getCorrelationId(), null, "Invalid products", toLineErrors(validation));
         }
+        return new CartResultDto(cart.getCorrelationId(), price(products), null, null);
     }
 
-    private DiscountResponseDto buildResponse(List<DiscountedProductDto> discountedProducts) {
-        double totalSavings = discountedProducts.stream()
-                .mapToDouble(DiscountedProductDto::getSavings)
-                .sum();
+    private void checkBatchLimits(List<CartRequestDto> carts) {
+        DiscountProperties.Batch limits = discountProperties.getBatch();
+        if (carts.size() > limits.getMaxCarts()) {
+            throw new BatchLimitExceededException(String.format(
+                    "Batch has %d carts; at most %d are allowed", carts.size(), limits.getMaxCarts()));
+        }
+        long items = 0;
+        for (CartRequestDto cart : carts) {
+            if (cart != null && cart.getProducts() != null) {
+                items += cart.getProducts().size();
+            }
+        }
+        if (items > limits.getMaxItems()) {
+            throw new BatchLimitExceededException(String.format(
+                    "Batch has %d products; at most %d are allowed", items, limits.getMaxItems()));
+        }
+    }
 
-        double finalBill = discountedProducts.stream()
-                .mapToDouble(DiscountedProductDto::getFinalPrice)
-                .sum();
+    private static List<LineErrorDto> toLineErrors(ValidationResult validation) {
+        List<LineErrorDto> errors = new ArrayList<>(validation.getViolations().size());
+        for (Violation violation : validation.getViolations()) {
+            errors.add(new LineErrorDto(violation.index(), violation.code().name(), violation.detail()));
+        }
+        return errors;
+    }
 
-        return new DiscountResponseDto(discountedProducts, totalSavings, finalBill);
+    private DiscountResponseDto price(List<ProductDto> products) {
+        CartEvaluation evaluation = cartEvaluator.evaluate(products);
+        discountMetrics.recordCart(evaluation);
+        return evaluation.toResponse();
     }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface DiscountStreamService {
+    void calculateDiscount(InputStream products, OutputStream discountedProducts) throws IOException;
+}
@@ -0,0 +1,125 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ust_internal.productdiscountapi.dto.DiscountSummaryDto;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.exception.InvalidProductException;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.pricing.CategoryTally;
+import com.ust_internal.productdiscountapi.pricing.Money;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleTable;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Prices an unbounded sequence of products (NDJSON or a JSON array) one record at a
+ * time and writes one {@link DiscountedProductDto} per line, followed by a
+ * {@link DiscountSummaryDto} trailer. Nothing is retained per item, so memory use does
+ * not grow with the input. Like a cart, the whole stream is priced and tallied against
+ * the rule table active when it started.
+ */
+@Service
+public class DiscountStreamServiceImpl implements DiscountStreamService {
+
+    private final DiscountService discountService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final DiscountMetrics discountMetrics;
+    private final DiscountRuleEngine discountRuleEngine;
+    private final ObjectReader productReader;
+    private final ObjectWriter lineWriter;
+
+    public DiscountStreamServiceImpl(DiscountService discountService, Validator validator, ObjectMapper objectMapper,
+                                     DiscountMetrics discountMetrics, DiscountRuleEngine discountRuleEngine) {
+        this.discountService = discountService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.discountMetrics = discountMetrics;
+        this.discountRuleEngine = discountRuleEngine;
+        this.productReader = objectMapper.readerFor(ProductDto.class);
+        // Lines reach the client as the generator's buffer fills, not one write (and one
+        // gzip sync flush) per record; only the trailer is flushed explicitly
+        this.lineWriter = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void calculateDiscount(InputStream products, OutputStream discountedProducts) throws IOException {
+        long itemCount = 0;
+        long totalSavings = 0L;
+        long finalBill = 0L;
+        CategoryTally categoryTally = new CategoryTally();
+        DiscountRuleTable rules = discountRuleEngine.getTable();
+        String error = null;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(discountedProducts)) {
+            // Lines are already separated by '\n'; drop Jackson's default space between root values
+            generator.setRootValueSeparator(null);
+
+            try (MappingIterator<ProductDto> iterator = productReader.readValues(products)) {
+                while (iterator.hasNextValue()) {
+                    ProductDto product = iterator.nextValue();
+                    String violations = validate(product, itemCount);
+                    if (violations != null) {
+                        error = violations;
+                        break;
+                    }
+
+                    DiscountedProductDto discounted = discountService.applyDiscount(product, rules);
+                    long savings = Money.toMinor(discounted.getSavings());
+                    itemCount++;
+                    totalSavings += savings;
+                    categoryTally.add(rules.find(product.getCategory()), savings);
+                    finalBill += Money.toMinor(discounted.getFinalPrice());
+                    writeLine(generator, discounted);
+                }
+            } catch (JsonProcessingException e) {
+                error = String.format("Malformed product at index %d: %s", itemCount, e.getOriginalMessage());
+            } catch (InvalidProductException e) {
+                error = String.format("products[%d]: %s", itemCount, e.getMessage());
+            }
+
+            discountMetrics.recordStream(itemCount, categoryTally.getTotals());
+            writeLine(generator, new DiscountSummaryDto(
+                    itemCount, Money.toMajor(totalSavings), Money.toMajor(finalBill), error));
+            generator.flush();
+        }
+    }
+
+    private String validate(ProductDto product, long index) {
+        if (product == null) {
+            return String.format("products[%d]: must not be null", index);
+        }
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> String.format("products[%d].%s: %s",
+                        index, violation.getPropertyPath(), violation.getMessage()))
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) throws IOException {
+        lineWriter.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+}
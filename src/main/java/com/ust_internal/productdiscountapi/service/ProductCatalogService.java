@@ -0,0 +1,11 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductPageDto;
+
+public interface ProductCatalogService {
+    ProductDto getProduct(Long id);
+    ProductPageDto findByCategory(String category, Long afterId, Integer size);
+    ProductPageDto findByPriceRange(Double minPrice, Double maxPrice, Double afterPrice, Long afterId, Integer size);
+}
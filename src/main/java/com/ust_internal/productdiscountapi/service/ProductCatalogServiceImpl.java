@@ -0,0 +1,97 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductPageDto;
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import com.ust_internal.productdiscountapi.exception.InvalidPageRequestException;
+import com.ust_internal.productdiscountapi.exception.ProductNotFoundException;
+import com.ust_internal.productdiscountapi.mapper.ProductMapper;
+import com.ust_internal.productdiscountapi.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Read path over persisted products. Pages use keyset cursors (the last id, or last
+ * price and id) rather than OFFSET, so deep pages cost the same as the first one.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductCatalogServiceImpl implements ProductCatalogService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final DiscountProperties discountProperties;
+
+    @Override
+    public ProductDto getProduct(Long id) {
+        return productRepository.findById(id)
+                .map(productMapper::toDto)
+                .orElseThrow(() -> new ProductNotFoundException(String.format("Product not found: %d", id)));
+    }
+
+    @Override
+    public ProductPageDto findByCategory(String category, Long afterId, Integer size) {
+        if (category == null || category.isBlank()) {
+            throw new InvalidPageRequestException("Category is required");
+        }
+        int pageSize = pageSize(size);
+        // One extra row tells whether another page exists without a count query
+        List<ProductEntity> rows = productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(
+                category, afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ProductEntity> page = hasNext ? rows.subList(0, pageSize) : rows;
+        ProductEntity last = hasNext ? page.get(page.size() - 1) : null;
+        return new ProductPageDto(toDtos(page), last != null ? last.getId() : null, null);
+    }
+
+    @Override
+    public ProductPageDto findByPriceRange(Double minPrice, Double maxPrice, Double afterPrice, Long afterId,
+                                           Integer size) {
+        if (minPrice == null || maxPrice == null || minPrice > maxPrice) {
+            throw new InvalidPageRequestException("minPrice and maxPrice are required and minPrice must not exceed maxPrice");
+        }
+        // Half a cursor would restart the price from id 0 and repeat rows already returned
+        if ((afterPrice == null) != (afterId == null)) {
+            throw new InvalidPageRequestException("afterPrice and afterId must be given together");
+        }
+        int pageSize = pageSize(size);
+        // A cursor below minPrice restarts at minPrice; its id belongs to a cheaper row
+        // and would skip rows priced exactly minPrice, so it is dropped with the price
+        boolean fromCursor = afterPrice != null && afterPrice >= minPrice;
+        double fromPrice = fromCursor ? afterPrice : minPrice;
+        long fromId = fromCursor ? afterId : 0L;
+        List<ProductEntity> rows = productRepository.findPriceRangePage(
+                fromPrice, fromId, maxPrice, Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ProductEntity> page = hasNext ? rows.subList(0, pageSize) : rows;
+        ProductEntity last = hasNext ? page.get(page.size() - 1) : null;
+        return new ProductPageDto(toDtos(page),
+                last != null ? last.getId() : null,
+                last != null ? last.getPrice() : null);
+    }
+
+    private int pageSize(Integer size) {
+        DiscountProperties.Catalog catalog = discountProperties.getCatalog();
+        int pageSize = size != null ? size : catalog.getDefaultPageSize();
+        if (pageSize < 1 || pageSize > catalog.getMaxPageSize()) {
+            throw new InvalidPageRequestException(String.format(
+                    "size must be between 1 and %d", catalog.getMaxPageSize()));
+        }
+        return pageSize;
+    }
+
+    private List<ProductDto> toDtos(List<ProductEntity> entities) {
+        return entities.stream()
+                .map(productMapper::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.ust_internal.productdiscountapi.validation;
+
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.pricing.Money;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Business validation for line items: name and category must be present, price and
+ * quantity must be present and positive, and their product at most
+ * {@link Money#MAX_LINE_TOTAL}. Collects every violation instead of failing on the
+ * first one.
+ */
+@Component
+public class ProductValidator {
+
+    public ValidationResult validate(List<ProductDto> products) {
+        ValidationResult.Builder result = new ValidationResult.Builder();
+        for (int i = 0; i < products.size(); i++) {
+            check(products.get(i), i, result);
+        }
+        return result.build();
+    }
+
+    public ValidationResult validate(ProductDto product) {
+        ValidationResult.Builder result = new ValidationResult.Builder();
+        check(product, -1, result);
+        return result.build();
+    }
+
+    private static void check(ProductDto product, int index, ValidationResult.Builder result) {
+        if (product == null) {
+            result.add(index, ViolationCode.PRODUCT_REQUIRED, null);
+            return;
+        }
+        if (product.getName() == null || product.getName().isBlank()) {
+            result.add(index, ViolationCode.NAME_REQUIRED, null);
+        }
+        if (product.getCategory() == null || product.getCategory().isBlank()) {
+            result.add(index, ViolationCode.CATEGORY_REQUIRED, product.getName());
+        }
+        Double price = product.getPrice();
+        if (price == null || price <= 0) {
+            result.add(index, ViolationCode.PRICE_INVALID, product.getName());
+        }
+        Integer quantity = product.getQuantity();
+        if (quantity == null || quantity <= 0) {
+            result.add(index, ViolationCode.QUANTITY_INVALID, product.getName());
+        } else if (price != null && price > 0 && price * quantity > Money.MAX_LINE_TOTAL) {
+            result.add(index, ViolationCode.LINE_TOTAL_TOO_LARGE, product.getName());
+        }
+    }
+}
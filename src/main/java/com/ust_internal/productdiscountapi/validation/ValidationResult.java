@@ -0,0 +1,62 @@
+package com.ust_internal.productdiscountapi.validation;
+
+import com.ust_internal.productdiscountapi.exception.InvalidProductException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * All violations found in one pass over a request. Valid requests share
+ * {@link #VALID} and never allocate a violation list.
+ */
+public final class ValidationResult {
+
+    public static final ValidationResult VALID = new ValidationResult(List.of());
+
+    private final List<Violation> violations;
+
+    private ValidationResult(List<Violation> violations) {
+        this.violations = violations;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Joins every violation message; only called when the result is reported.
+     */
+    public String getMessage() {
+        return violations.stream()
+                .map(Violation::message)
+                .collect(Collectors.joining(", "));
+    }
+
+    public void throwIfInvalid() {
+        if (!isValid()) {
+            throw new InvalidProductException(this);
+        }
+    }
+
+    static final class Builder {
+
+        private List<Violation> violations;
+
+        void add(int index, ViolationCode code, String productName) {
+            if (violations == null) {
+                violations = new ArrayList<>();
+            }
+            violations.add(new Violation(index, code, productName));
+        }
+
+        ValidationResult build() {
+            return violations == null ? VALID : new ValidationResult(Collections.unmodifiableList(violations));
+        }
+    }
+}
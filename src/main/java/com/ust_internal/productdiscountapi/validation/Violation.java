@@ -0,0 +1,22 @@
+package com.ust_internal.productdiscountapi.validation;
+
+/**
+ * One rejected line item. Holds only the index, code and product name; the
+ * human-readable text is built by {@link #message()} when someone asks for it.
+ * An index of {@code -1} means the product was validated on its own.
+ */
+public record Violation(int index, ViolationCode code, String productName) {
+
+    public String message() {
+        return index < 0 ? detail() : "products[" + index + "]: " + detail();
+    }
+
+    /**
+     * The message without the {@code products[i]} prefix.
+     */
+    public String detail() {
+        return productName == null || productName.isBlank()
+                ? code.getDescription()
+                : "Invalid product: " + productName + ". " + code.getDescription();
+    }
+}
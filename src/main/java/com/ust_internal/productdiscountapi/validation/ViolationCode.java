@@ -0,0 +1,20 @@
+package com.ust_internal.productdiscountapi.validation;
+
+public enum ViolationCode {
+    PRODUCT_REQUIRED("Product is required"),
+    NAME_REQUIRED("Product name is required"),
+    CATEGORY_REQUIRED("Category is required"),
+    PRICE_INVALID("Price must be greater than 0"),
+    QUANTITY_INVALID("Quantity must be greater than 0"),
+    LINE_TOTAL_TOO_LARGE("Price times quantity is too large");
+
+    private final String description;
+
+    ViolationCode(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
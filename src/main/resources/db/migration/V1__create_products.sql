@@ -0,0 +1,15 @@
+-- Matches ProductEntity; ids come from a pooled sequence (allocationSize = 50)
+create sequence tbl_products_seq start with 1 increment by 50;
+
+create table tbl_products (
+    id       bigint       not null,
+    name     varchar(255) not null,
+    category varchar(255) not null,
+    price    float(53)    not null,
+    quantity integer      not null,
+    primary key (id)
+);
+
+-- Keyset pagination for the catalog read endpoints
+create index idx_products_category_id on tbl_products (category, id);
+create index idx_products_price_id on tbl_products (price, id);
@@ -0,0 +1,95 @@
+package com.ust_internal.productdiscountapi.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust_internal.productdiscountapi.admission.AdmissionControl;
+import com.ust_internal.productdiscountapi.admission.ClientResolver;
+import com.ust_internal.productdiscountapi.exception.ErrorResponse;
+import com.ust_internal.productdiscountapi.exception.TooManyRequestsException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+
+/**
+ * Applies {@link AdmissionControl} to the discount endpoints before the body is read,
+ * and holds the permit until the response has been written. Rejections are written
+ * here because errors raised by a {@link WebFilter} never reach controller advice.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "discount.admission", name = "enabled", havingValue = "true")
+public class ReactiveAdmissionFilter implements WebFilter {
+
+    private static final String DISCOUNT_PATH = "/api/v1/products/discount";
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+    private final ClientResolver clientResolver;
+
+    public ReactiveAdmissionFilter(AdmissionControl admissionControl, ObjectMapper objectMapper,
+                                   ClientResolver clientResolver) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+        this.clientResolver = clientResolver;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!path.equals(DISCOUNT_PATH) && !path.startsWith(DISCOUNT_PATH + "/")) {
+            return chain.filter(exchange);
+        }
+
+        AdmissionControl.Permit permit;
+        try {
+            permit = admissionControl.admit(clientId(request), path, request.getHeaders().getContentLength());
+        } catch (TooManyRequestsException e) {
+            return reject(exchange, e);
+        }
+        return chain.filter(exchange).doFinally(signal -> permit.close());
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, TooManyRequestsException e) {
+        ServerHttpResponse response = exchange.getResponse();
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                e.getMessage(),
+                exchange.getRequest().getPath().value()
+        );
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(errorResponse);
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    private String clientId(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return clientResolver.clientId(
+                remoteAddress != null && remoteAddress.getAddress() != null
+                        ? remoteAddress.getAddress().getHostAddress()
+                        : null,
+                request.getHeaders().getFirst(clientResolver.getClientHeader()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.ust_internal.productdiscountapi.reactive;
+
+
+import com.ust_internal.productdiscountapi.dto.BatchDiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same contract as the servlet {@code DiscountController}, served by WebFlux.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ReactiveDiscountController {
+
+    private final ReactiveDiscountService reactiveDiscountService;
+
+    @PostMapping("/discount")
+    public Mono<ResponseEntity<DiscountResponseDto>> calculateDiscount(
+            @Valid @RequestBody DiscountRequestDto requestDto) {
+
+        return reactiveDiscountService.calculateDiscount(requestDto).map(ReactiveDiscountController::created);
+    }
+
+    // No @Valid: invalid lines are reported per index instead of rejecting the cart
+    @PostMapping("/discount/partial")
+    public Mono<ResponseEntity<DiscountResponseDto>> calculateDiscountPartial(
+            @RequestBody DiscountRequestDto requestDto) {
+
+        return reactiveDiscountService.calculateDiscountPartial(requestDto).map(ReactiveDiscountController::created);
+    }
+
+    @PostMapping("/discount/batch")
+    public Mono<ResponseEntity<BatchDiscountResponseDto>> calculateDiscountBatch(
+            @Valid @RequestBody BatchDiscountRequestDto requestDto) {
+
+        return reactiveDiscountService.calculateDiscountBatch(requestDto).map(ReactiveDiscountController::created);
+    }
+
+    @PostMapping("/discount/reprice")
+    public Mono<ResponseEntity<DiscountResponseDto>> repriceProducts(
+            @Valid @RequestBody RepriceRequestDto requestDto) {
+
+        return reactiveDiscountService.repriceProducts(requestDto).map(ReactiveDiscountController::created);
+    }
+
+    @PostMapping("/discount/save")
+    public Mono<ResponseEntity<DiscountResponseDto>> calculateDiscountAndSave(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody DiscountRequestDto requestDto) {
+
+        return reactiveDiscountService.calculateDiscountAndSave(requestDto, idempotencyKey)
+                .map(ReactiveDiscountController::created);
+    }
+
+    @PostMapping(value = "/discount/stream",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> calculateDiscountStream(@RequestBody Flux<ProductDto> products) {
+        return reactiveDiscountService.calculateDiscountStream(products);
+    }
+
+    private static <T> ResponseEntity<T> created(T body) {
+        return new ResponseEntity<>(body, HttpStatus.CREATED);
+    }
+}
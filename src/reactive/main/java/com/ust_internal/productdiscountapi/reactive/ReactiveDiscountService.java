@@ -0,0 +1,25 @@
+package com.ust_internal.productdiscountapi.reactive;
+
+
+import com.ust_internal.productdiscountapi.dto.BatchDiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveDiscountService {
+    Mono<DiscountResponseDto> calculateDiscount(DiscountRequestDto requestDto);
+    Mono<DiscountResponseDto> calculateDiscountPartial(DiscountRequestDto requestDto);
+    Mono<BatchDiscountResponseDto> calculateDiscountBatch(BatchDiscountRequestDto requestDto);
+    Mono<DiscountResponseDto> repriceProducts(RepriceRequestDto requestDto);
+    Mono<DiscountResponseDto> calculateDiscountAndSave(DiscountRequestDto requestDto, String idempotencyKey);
+
+    /**
+     * One {@code DiscountedProductDto} per product followed by a {@code DiscountSummaryDto}
+     * trailer. Products are requested from upstream only as lines are consumed.
+     */
+    Flux<Object> calculateDiscountStream(Flux<ProductDto> products);
+}
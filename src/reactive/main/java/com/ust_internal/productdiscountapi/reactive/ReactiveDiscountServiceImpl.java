@@ -0,0 +1,168 @@
+package com.ust_internal.productdiscountapi.reactive;
+
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.DiscountSummaryDto;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
+import com.ust_internal.productdiscountapi.exception.InvalidProductException;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.pricing.CategoryTally;
+import com.ust_internal.productdiscountapi.pricing.Money;
+import com.ust_internal.productdiscountapi.rule.DiscountRule;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleTable;
+import com.ust_internal.productdiscountapi.service.DiscountService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive front for {@link DiscountService}. Pricing is CPU-bound and runs on
+ * {@link Schedulers#parallel()} rather than the Netty event loop; reprices and saves
+ * block on JDBC and run on {@link Schedulers#boundedElastic()}. Streamed products are handed to
+ * {@link Schedulers#parallel()} in windows of {@link #STREAM_PREFETCH} and priced as the
+ * response is written, so a slow reader slows down reading the request instead of
+ * buffering priced lines. Each stream is priced and tallied against one rule table.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveDiscountServiceImpl implements ReactiveDiscountService {
+
+    // Products decoded ahead of pricing; small so a slow reader still holds back the request
+    static final int STREAM_PREFETCH = 32;
+
+    private final DiscountService discountService;
+    private final Validator validator;
+    private final DiscountMetrics discountMetrics;
+    private final DiscountRuleEngine discountRuleEngine;
+
+    @Override
+    public Mono<DiscountResponseDto> calculateDiscount(DiscountRequestDto requestDto) {
+        return price(() -> discountService.calculateDiscount(requestDto));
+    }
+
+    @Override
+    public Mono<DiscountResponseDto> calculateDiscountPartial(DiscountRequestDto requestDto) {
+        return price(() -> discountService.calculateDiscountPartial(requestDto));
+    }
+
+    @Override
+    public Mono<BatchDiscountResponseDto> calculateDiscountBatch(BatchDiscountRequestDto requestDto) {
+        return price(() -> discountService.calculateDiscountBatch(requestDto));
+    }
+
+    @Override
+    public Mono<DiscountResponseDto> repriceProducts(RepriceRequestDto requestDto) {
+        return blocking(() -> discountService.repriceProducts(requestDto));
+    }
+
+    @Override
+    public Mono<DiscountResponseDto> calculateDiscountAndSave(DiscountRequestDto requestDto, String idempotencyKey) {
+        return blocking(() -> discountService.calculateDiscountAndSave(requestDto, idempotencyKey));
+    }
+
+    @Override
+    public Flux<Object> calculateDiscountStream(Flux<ProductDto> products) {
+        return Flux.defer(() -> {
+            StreamTotals totals = new StreamTotals();
+            DiscountRuleTable rules = discountRuleEngine.getTable();
+            Flux<Object> lines = products
+                    .publishOn(Schedulers.parallel(), STREAM_PREFETCH)
+                    .<Object>handle((product, sink) -> {
+                        String violations = validate(product, totals.itemCount);
+                        if (violations != null) {
+                            totals.error = violations;
+                            sink.complete();
+                            return;
+                        }
+                        DiscountedProductDto discounted = discountService.applyDiscount(product, rules);
+                        totals.add(rules.find(product.getCategory()), discounted);
+                        sink.next(discounted);
+                    })
+                    // The web layer wraps decoding failures, so look for one anywhere in the chain
+                    .onErrorResume(ReactiveDiscountServiceImpl::isDecodingError, e -> {
+                        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+                        String detail = cause instanceof JsonProcessingException json
+                                ? json.getOriginalMessage()
+                                : cause.getMessage();
+                        totals.error = String.format("Malformed product at index %d: %s", totals.itemCount, detail);
+                        return Flux.empty();
+                    })
+                    .onErrorResume(InvalidProductException.class, e -> {
+                        totals.error = String.format("products[%d]: %s", totals.itemCount, e.getMessage());
+                        return Flux.empty();
+                    });
+
+            return lines.concatWith(Mono.fromSupplier(() -> {
+                discountMetrics.recordStream(totals.itemCount, totals.categoryTally.getTotals());
+                return new DiscountSummaryDto(totals.itemCount, Money.toMajor(totals.totalSavings),
+                        Money.toMajor(totals.finalBill), totals.error);
+            }));
+        });
+    }
+
+    private static boolean isDecodingError(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof DecodingException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> Mono<T> price(Callable<T> pricing) {
+        return Mono.fromCallable(pricing).subscribeOn(Schedulers.parallel());
+    }
+
+    // Anything touching the repository, which would stall the small parallel pool
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private String validate(ProductDto product, long index) {
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> String.format("products[%d].%s: %s",
+                        index, violation.getPropertyPath(), violation.getMessage()))
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // Per subscription; the stream is serial, so plain fields are enough
+    private static final class StreamTotals {
+        private long itemCount;
+        private long totalSavings;
+        private long finalBill;
+        private final CategoryTally categoryTally = new CategoryTally();
+        private String error;
+
+        void add(DiscountRule rule, DiscountedProductDto discounted) {
+            long savings = Money.toMinor(discounted.getSavings());
+            itemCount++;
+            totalSavings += savings;
+            finalBill += Money.toMinor(discounted.getFinalPrice());
+            categoryTally.add(rule, savings);
+        }
+    }
+}
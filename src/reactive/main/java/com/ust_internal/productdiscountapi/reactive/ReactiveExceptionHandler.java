@@ -0,0 +1,120 @@
+package com.ust_internal.productdiscountapi.reactive;
+
+import com.ust_internal.productdiscountapi.exception.BatchLimitExceededException;
+import com.ust_internal.productdiscountapi.exception.ErrorResponse;
+import com.ust_internal.productdiscountapi.exception.IdempotencyKeyConflictException;
+import com.ust_internal.productdiscountapi.exception.InvalidDiscountRuleException;
+import com.ust_internal.productdiscountapi.exception.InvalidProductException;
+import com.ust_internal.productdiscountapi.exception.ProductNotFoundException;
+import com.ust_internal.productdiscountapi.exception.SaveQueueFullException;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux counterpart of {@code GlobalExceptionHandler} for the exceptions the discount
+ * endpoints can raise, with the same statuses and error bodies.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(InvalidProductException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidProductException(
+            InvalidProductException ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(InvalidDiscountRuleException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDiscountRuleException(
+            InvalidDiscountRuleException ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid Discount Rule", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleProductNotFoundException(
+            ProductNotFoundException ex, ServerHttpRequest request) {
+        return error(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflictException(
+            IdempotencyKeyConflictException ex, ServerHttpRequest request) {
+        return error(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(BatchLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleBatchLimitExceededException(
+            BatchLimitExceededException ex, ServerHttpRequest request) {
+        return error(HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(SaveQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleSaveQueueFullException(
+            SaveQueueFullException ex, ServerHttpRequest request) {
+        ResponseEntity<ErrorResponse> response =
+                error(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(
+            WebExchangeBindException ex, ServerHttpRequest request) {
+        String errorMessage = ex.getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        return error(HttpStatus.BAD_REQUEST, "Validation Failed", errorMessage, request);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(
+            ConstraintViolationException ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Constraint Violation", ex.getMessage(), request);
+    }
+
+    // Unreadable bodies, unsupported media types and the like keep their own status
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(
+            ResponseStatusException ex, ServerHttpRequest request) {
+        HttpStatusCode status = ex.getStatusCode();
+        HttpStatus resolved = HttpStatus.resolve(status.value());
+        return error(status, resolved != null ? resolved.getReasonPhrase() : status.toString(),
+                ex.getReason(), request);
+    }
+
+    @ExceptionHandler(ArithmeticException.class)
+    public ResponseEntity<ErrorResponse> handleArithmeticException(
+            ArithmeticException ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", "Amounts are too large to price", request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, ServerHttpRequest request) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage(), request);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatusCode status, String title, String message,
+                                                       ServerHttpRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                title,
+                message,
+                request.getPath().value()
+        );
+        return new ResponseEntity<>(errorResponse, status);
+    }
+}
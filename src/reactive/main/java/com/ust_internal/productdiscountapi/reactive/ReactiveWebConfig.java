@@ -0,0 +1,65 @@
+package com.ust_internal.productdiscountapi.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.util.Map;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public ReactiveWebConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Tomcat stays on the classpath for the servlet build and would otherwise be chosen
+     * over Netty.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(
+            ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        return factory;
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new StreamingJsonEncoder(objectMapper));
+    }
+
+    /**
+     * Writes each element of a streaming response (NDJSON) on one line, whatever
+     * {@code indent-output} says.
+     */
+    private static final class StreamingJsonEncoder extends Jackson2JsonEncoder {
+
+        StreamingJsonEncoder(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType, ResolvableType elementType,
+                                               Map<String, Object> hints) {
+            boolean streaming = mimeType != null
+                    && getStreamingMediaTypes().stream().anyMatch(type -> type.isCompatibleWith(mimeType));
+            return streaming ? writer.without(SerializationFeature.INDENT_OUTPUT) : writer;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ust_internal.productdiscountapi.reactive;
+
+
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceItemDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
+import com.ust_internal.productdiscountapi.exception.ProductNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveDiscountControllerTest {
+
+    @Mock
+    private ReactiveDiscountService reactiveDiscountService;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(new ReactiveDiscountController(reactiveDiscountService))
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void calculateDiscount_ValidRequest_ReturnsCreated() {
+        // Given
+        DiscountRequestDto request = new DiscountRequestDto(List.of(
+                new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1)));
+        DiscountResponseDto response = new DiscountResponseDto(
+                List.of(new DiscountedProductDto(1L, "Laptop", 45000.0, 5000.0)), 5000.0, 45000.0);
+        when(reactiveDiscountService.calculateDiscount(any())).thenReturn(Mono.just(response));
+
+        // When & Then
+        webTestClient.post().uri("/api/v1/products/discount")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.totalSavings").isEqualTo(5000.0)
+                .jsonPath("$.discountedProducts[0].finalPrice").isEqualTo(45000.0);
+    }
+
+    @Test
+    void calculateDiscount_InvalidProduct_ReturnsValidationError() {
+        // Given
+        DiscountRequestDto request = new DiscountRequestDto(List.of(
+                new ProductDto(1L, "Laptop", "Electronics", -1.0, 1)));
+
+        // When & Then
+        webTestClient.post().uri("/api/v1/products/discount")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.path").isEqualTo("/api/v1/products/discount");
+        verifyNoInteractions(reactiveDiscountService);
+    }
+
+    @Test
+    void repriceProducts_UnknownProductId_ReturnsNotFound() {
+        // Given
+        RepriceRequestDto request = new RepriceRequestDto(List.of(new RepriceItemDto(99L, 1)));
+        when(reactiveDiscountService.repriceProducts(any()))
+                .thenReturn(Mono.error(new ProductNotFoundException("Products not found: [99]")));
+
+        // When & Then
+        webTestClient.post().uri("/api/v1/products/discount/reprice")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Not Found")
+                .jsonPath("$.message").isEqualTo("Products not found: [99]")
+                .jsonPath("$.path").isEqualTo("/api/v1/products/discount/reprice");
+    }
+
+    @Test
+    void calculateDiscountStream_NdjsonInput_StreamsNdjsonLines() {
+        // Given
+        when(reactiveDiscountService.calculateDiscountStream(any())).thenAnswer(invocation ->
+                invocation.<Flux<ProductDto>>getArgument(0)
+                        .map(product -> new DiscountedProductDto(product.getId(), product.getName(), 1.0, 0.0)));
+        String input = """
+                {"id":1,"name":"Laptop","category":"Electronics","price":50000.0,"quantity":1}
+                {"id":2,"name":"Shirt","category":"Clothing","price":1000.0,"quantity":3}
+                """;
+
+        // When & Then
+        webTestClient.post().uri("/api/v1/products/discount/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(input)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(DiscountedProductDto.class)
+                .hasSize(2);
+    }
+}
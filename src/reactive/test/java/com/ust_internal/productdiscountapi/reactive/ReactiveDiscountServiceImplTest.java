@@ -0,0 +1,181 @@
+package com.ust_internal.productdiscountapi.reactive;
+
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.DiscountSummaryDto;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceItemDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.pricing.CategoryTotal;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleTable;
+import com.ust_internal.productdiscountapi.rule.RuleType;
+import com.ust_internal.productdiscountapi.rule.ThresholdType;
+import com.ust_internal.productdiscountapi.service.DiscountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveDiscountServiceImplTest {
+
+    private DiscountService discountService;
+    private DiscountRuleEngine discountRuleEngine;
+    private ReactiveDiscountServiceImpl reactiveDiscountService;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Set<String> pricingThreads = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        discountService = mock(DiscountService.class);
+        when(discountService.applyDiscount(any(), any())).thenAnswer(invocation -> {
+            pricingThreads.add(Thread.currentThread().getName());
+            ProductDto product = invocation.getArgument(0);
+            double total = product.getPrice() * product.getQuantity();
+            return new DiscountedProductDto(product.getId(), product.getName(), total * 0.9, total * 0.1);
+        });
+        discountRuleEngine = new DiscountRuleEngine(new DiscountProperties());
+        reactiveDiscountService = new ReactiveDiscountServiceImpl(
+                discountService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new DiscountMetrics(meterRegistry),
+                discountRuleEngine
+        );
+    }
+
+    @Test
+    void calculateDiscountStream_WithLimitedDemand_ReadsProductsOnlyAsLinesAreConsumed() {
+        // Given
+        AtomicLong requested = new AtomicLong();
+        Flux<ProductDto> products = Flux.range(1, 100_000)
+                .map(i -> new ProductDto((long) i, "Item " + i, "Grocery", 100.0, 1))
+                .doOnRequest(n -> requested.accumulateAndGet(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b));
+
+        // When & Then
+        StepVerifier.create(reactiveDiscountService.calculateDiscountStream(products), 3)
+                .expectNextCount(3)
+                .then(() -> assertTrue(requested.get() <= ReactiveDiscountServiceImpl.STREAM_PREFETCH,
+                        "requested " + requested.get()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void calculateDiscountStream_PricesOnParallelScheduler() {
+        // Given
+        Flux<ProductDto> products = Flux.range(1, 10)
+                .map(i -> new ProductDto((long) i, "Item " + i, "Grocery", 100.0, 1));
+
+        // When & Then
+        StepVerifier.create(reactiveDiscountService.calculateDiscountStream(products))
+                .expectNextCount(11)
+                .verifyComplete();
+        assertFalse(pricingThreads.isEmpty());
+        assertTrue(pricingThreads.stream().allMatch(name -> name.startsWith("parallel-")),
+                "priced on " + pricingThreads);
+        assertEquals(10.0, meterRegistry.get(DiscountMetrics.ITEMS_PROCESSED)
+                .tag("category", CategoryTotal.UNMATCHED).counter().count());
+    }
+
+    @Test
+    void calculateDiscountStream_WhenRulesReloadMidStream_TalliesAgainstStartingRules() {
+        // Given
+        DiscountRuleTable startingRules = discountRuleEngine.getTable();
+        Flux<ProductDto> products = Flux.range(1, 3)
+                .map(i -> new ProductDto((long) i, "Item " + i, "Grocery", 100.0, 1))
+                .doOnNext(product -> discountRuleEngine.reload(List.of(DiscountRuleDefinition.builder()
+                        .category("grocery")
+                        .type(RuleType.PERCENTAGE)
+                        .thresholdType(ThresholdType.PRICE)
+                        .threshold(0.0)
+                        .percentage(10.0)
+                        .build())));
+
+        // When & Then
+        StepVerifier.create(reactiveDiscountService.calculateDiscountStream(products))
+                .expectNextCount(4)
+                .verifyComplete();
+        verify(discountService, times(3)).applyDiscount(any(), same(startingRules));
+        assertEquals(3.0, meterRegistry.get(DiscountMetrics.ITEMS_PROCESSED)
+                .tag("category", CategoryTotal.UNMATCHED).counter().count());
+    }
+
+    @Test
+    void repriceProducts_RunsOnBoundedElasticScheduler() {
+        // Given
+        RepriceRequestDto requestDto = new RepriceRequestDto(List.of(new RepriceItemDto(1L, 2)));
+        DiscountResponseDto response = new DiscountResponseDto(List.of(), 0.0, 0.0);
+        AtomicReference<String> repriceThread = new AtomicReference<>();
+        when(discountService.repriceProducts(requestDto)).thenAnswer(invocation -> {
+            repriceThread.set(Thread.currentThread().getName());
+            return response;
+        });
+
+        // When & Then
+        StepVerifier.create(reactiveDiscountService.repriceProducts(requestDto))
+                .expectNext(response)
+                .verifyComplete();
+        // loomBoundedElastic- when Spring has switched the scheduler to virtual threads
+        assertTrue(repriceThread.get().matches("(loomB|b)oundedElastic-.*"), "repriced on " + repriceThread.get());
+    }
+
+    @Test
+    void calculateDiscountStream_WithInvalidProduct_StopsWithSummaryError() {
+        // Given
+        Flux<ProductDto> products = Flux.just(
+                new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1),
+                new ProductDto(2L, "", "Clothing", 1000.0, 3),
+                new ProductDto(3L, "Apple", "Grocery", 100.0, 12));
+
+        // When & Then
+        StepVerifier.create(reactiveDiscountService.calculateDiscountStream(products))
+                .expectNextMatches(line -> ((DiscountedProductDto) line).getSavings() == 5000.0)
+                .assertNext(line -> {
+                    DiscountSummaryDto summary = (DiscountSummaryDto) line;
+                    assertEquals(1L, summary.getItemCount());
+                    assertEquals(45000.0, summary.getFinalBill(), 0.001);
+                    assertEquals("products[1].name: Product name is required", summary.getError());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void calculateDiscountStream_WithMalformedProduct_ReportsIndexInSummary() {
+        // Given
+        DecodingException decodingError = new DecodingException("JSON decoding error",
+                new JsonParseException(null, "Unexpected character ('b')"));
+        Flux<ProductDto> products = Flux.concat(
+                Flux.just(new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1)),
+                Flux.error(new ServerWebInputException("Failed to read HTTP message", null, decodingError)));
+
+        // When & Then
+        StepVerifier.create(reactiveDiscountService.calculateDiscountStream(products))
+                .expectNextCount(1)
+                .assertNext(line -> assertEquals("Malformed product at index 1: Unexpected character ('b')",
+                        ((DiscountSummaryDto) line).getError()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ust_internal.productdiscountapi.admission;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DiscountProperties discountProperties = new DiscountProperties();
+
+    @BeforeEach
+    void setUp() {
+        DiscountProperties.Admission admission = discountProperties.getAdmission();
+        admission.setRequestsPerSecond(0.1);
+        admission.setBurst(2);
+        admission.setInteractivePermits(4);
+        admission.setBulkPermits(8);
+    }
+
+    @Test
+    void admit_BeyondBurst_RejectsOnlyThatClientWithRetryAfter() {
+        // Given
+        AdmissionControl admissionControl = admissionControl();
+        admissionControl.admit("partner-a", Lane.INTERACTIVE, 1).close();
+        admissionControl.admit("partner-a", Lane.INTERACTIVE, 1).close();
+
+        // When
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> admissionControl.admit("partner-a", Lane.INTERACTIVE, 1));
+
+        // Then
+        assertTrue(ex.getRetryAfterSeconds() >= 9 && ex.getRetryAfterSeconds() <= 10);
+        assertDoesNotThrow(() -> admissionControl.admit("partner-b", Lane.INTERACTIVE, 1).close());
+        assertEquals(1.0, rejected("interactive", "rate-limit"));
+    }
+
+    @Test
+    void admit_BulkLaneFull_ShedsBulkButAdmitsInteractive() {
+        // Given
+        discountProperties.getAdmission().setRequestsPerSecond(1_000);
+        discountProperties.getAdmission().setBurst(1_000);
+        AdmissionControl admissionControl = admissionControl();
+        AdmissionControl.Permit large = admissionControl.admit("partner-a", Lane.BULK, 100);
+
+        // When
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> admissionControl.admit("partner-b", Lane.BULK, 1));
+        AdmissionControl.Permit interactive = admissionControl.admit("shopper", Lane.INTERACTIVE, 4);
+
+        // Then
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1.0, rejected("bulk", "concurrency"));
+        assertEquals(8.0, permitsInUse("bulk"));
+        assertEquals(4.0, permitsInUse("interactive"));
+
+        large.close();
+        large.close();
+        interactive.close();
+        assertEquals(0.0, permitsInUse("bulk"));
+        assertDoesNotThrow(() -> admissionControl.admit("partner-b", Lane.BULK, 8).close());
+    }
+
+    @Test
+    void admit_ByPathAndBodyLength_ChoosesLaneAndWeight() {
+        // Given
+        discountProperties.getAdmission().setRequestsPerSecond(1_000);
+        discountProperties.getAdmission().setBurst(1_000);
+        AdmissionControl admissionControl = admissionControl();
+
+        // When
+        admissionControl.admit("shopper", "/api/v1/products/discount", 100_000);
+        admissionControl.admit("partner", "/api/v1/products/discount/batch", 10);
+        admissionControl.admit("partner", "/api/v1/products/discount/stream", -1);
+
+        // Then
+        assertEquals(2.0, permitsInUse("interactive"));
+        assertEquals(5.0, permitsInUse("bulk"));
+        assertThrows(TooManyRequestsException.class,
+                () -> admissionControl.admit("partner", "/api/v1/products/discount", 1_048_576));
+    }
+
+    private AdmissionControl admissionControl() {
+        AdmissionControl admissionControl = new AdmissionControl(discountProperties);
+        admissionControl.bindTo(meterRegistry);
+        return admissionControl;
+    }
+
+    private double rejected(String lane, String reason) {
+        return meterRegistry.get(AdmissionControl.REJECTED).tag("lane", lane).tag("reason", reason)
+                .functionCounter().count();
+    }
+
+    private double permitsInUse(String lane) {
+        return meterRegistry.get(AdmissionControl.PERMITS_IN_USE).tag("lane", lane).gauge().value();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ust_internal.productdiscountapi.admission;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionInterceptorTest {
+
+    @Mock
+    private AdmissionControl admissionControl;
+
+    private AdmissionInterceptor admissionInterceptor;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        DiscountProperties properties = new DiscountProperties();
+        properties.getAdmission().setTrustedProxies(List.of("10.0.0.5"));
+        admissionInterceptor = new AdmissionInterceptor(admissionControl, new ClientResolver(properties));
+    }
+
+    @Test
+    void preHandle_WithClientHeaderFromTrustedProxy_AdmitsByHeaderPathAndLength() {
+        // Given
+        MockHttpServletRequest request = request("/api/v1/products/discount", 2_000);
+        request.setRemoteAddr("10.0.0.5");
+        request.addHeader("X-Client-Id", "checkout-web");
+
+        // When
+        assertTrue(admissionInterceptor.preHandle(request, response, null));
+
+        // Then
+        verify(admissionControl).admit("checkout-web", "/api/v1/products/discount", 2_000L);
+    }
+
+    @Test
+    void preHandle_WithClientHeaderFromUntrustedAddress_KeysByRemoteAddress() {
+        // Given
+        MockHttpServletRequest request = request("/api/v1/products/discount", 2_000);
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Client-Id", "rotated-" + System.nanoTime());
+
+        // When
+        admissionInterceptor.preHandle(request, response, null);
+
+        // Then
+        verify(admissionControl).admit("203.0.113.7", "/api/v1/products/discount", 2_000L);
+    }
+
+    @Test
+    void preHandle_WithoutClientHeader_KeysByRemoteAddress() {
+        // Given
+        MockHttpServletRequest request = request("/api/v1/products/discount/batch", 1_000);
+
+        // When
+        admissionInterceptor.preHandle(request, response, null);
+
+        // Then
+        verify(admissionControl).admit("127.0.0.1", "/api/v1/products/discount/batch", 1_000L);
+    }
+
+    @Test
+    void afterCompletion_ReleasesPermit() {
+        // Given
+        AdmissionControl released = new AdmissionControl(new DiscountProperties());
+        when(admissionControl.admit(eq("127.0.0.1"), eq("/api/v1/products/discount"), anyLong()))
+                .thenAnswer(invocation -> released.admit("127.0.0.1", Lane.INTERACTIVE, 256));
+        MockHttpServletRequest request = request("/api/v1/products/discount", 100);
+        admissionInterceptor.preHandle(request, response, null);
+
+        // When
+        admissionInterceptor.afterCompletion(request, response, null, null);
+
+        // Then
+        assertDoesNotThrow(() -> released.admit("127.0.0.1", Lane.INTERACTIVE, 256).close());
+    }
+
+    private static MockHttpServletRequest request(String uri, int contentLength) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(new byte[contentLength]);
+        return request;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ust_internal.productdiscountapi.admission;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientResolverTest {
+
+    @Test
+    void clientId_FromTrustedIpv6Proxy_MatchesServerAddressForm() {
+        // Given
+        ClientResolver clientResolver = new ClientResolver(properties("::1", " 10.0.0.5 "));
+
+        // When & Then
+        assertEquals("checkout-web", clientResolver.clientId("0:0:0:0:0:0:0:1", "checkout-web"));
+        assertEquals("checkout-web", clientResolver.clientId("10.0.0.5", "checkout-web"));
+        assertEquals("10.0.0.6", clientResolver.clientId("10.0.0.6", "checkout-web"));
+    }
+
+    @Test
+    void new_WithHostNameAsTrustedProxy_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientResolver(properties("gateway.internal")));
+    }
+
+    private static DiscountProperties properties(String... trustedProxies) {
+        DiscountProperties properties = new DiscountProperties();
+        properties.getAdmission().setTrustedProxies(List.of(trustedProxies));
+        return properties;
+    }
+}
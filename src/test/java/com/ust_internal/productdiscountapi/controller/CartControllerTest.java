@@ -0,0 +1,76 @@
+package com.ust_internal.productdiscountapi.controller;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust_internal.productdiscountapi.dto.CartLineDto;
+import com.ust_internal.productdiscountapi.dto.CartUpdateDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.exception.CartNotFoundException;
+import com.ust_internal.productdiscountapi.exception.GlobalExceptionHandler;
+import com.ust_internal.productdiscountapi.service.CartService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartControllerTest {
+
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private CartService cartService;
+
+    @InjectMocks
+    private CartController cartController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(cartController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void putLine_WithValidProduct_ReturnsLineAndCartTotals() throws Exception {
+        // Given
+        ProductDto product = new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1);
+        CartUpdateDto update = new CartUpdateDto("c1",
+                new CartLineDto("a", 1L, "Laptop", 1, 45000.0, 5000.0), 1, 5000.0, 45000.0);
+        when(cartService.putLine(eq("c1"), eq("a"), any(ProductDto.class))).thenReturn(update);
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/carts/c1/lines/a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(product)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.line.finalPrice").value(45000.0))
+                .andExpect(jsonPath("$.lineCount").value(1))
+                .andExpect(jsonPath("$.totalSavings").value(5000.0));
+    }
+
+    @Test
+    void getCart_WithUnknownId_ReturnsNotFound() throws Exception {
+        // Given
+        when(cartService.getCart("gone")).thenThrow(new CartNotFoundException("Cart not found: gone"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/carts/gone"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Cart not found: gone"));
+    }
+}
@@ -2,11 +2,19 @@ package com.ust_internal.productdiscountapi.controller;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.CartRequestDto;
+import com.ust_internal.productdiscountapi.dto.CartResultDto;
 import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
 import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
 import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.LineErrorDto;
 import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
+import com.ust_internal.productdiscountapi.exception.GlobalExceptionHandler;
 import com.ust_internal.productdiscountapi.service.DiscountService;
+import com.ust_internal.productdiscountapi.service.DiscountStreamService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,10 +25,16 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +47,9 @@ class DiscountControllerTest {
     @Mock
     private DiscountService discountService;
 
+    @Mock
+    private DiscountStreamService discountStreamService;
+
     @InjectMocks
     private DiscountController discountController;
 
@@ -84,7 +101,7 @@ class DiscountControllerTest {
     @Test
     void calculateDiscountAndSave_WithValidRequest_ReturnsCreateResponse() throws Exception {
         // Given
-        when(discountService.calculateDiscountAndSave(any(DiscountRequestDto.class))).thenReturn(mockResponse);
+        when(discountService.calculateDiscountAndSave(any(DiscountRequestDto.class), isNull())).thenReturn(mockResponse);
 
         // When & Then
         mockMvc.perform(post("/api/v1/products/discount/save")
@@ -97,6 +114,108 @@ class DiscountControllerTest {
                 .andExpect(jsonPath("$.finalBill").value(48140.0));
     }
 
+    @Test
+    void calculateDiscountAndSave_WithIdempotencyKey_PassesKeyToService() throws Exception {
+        // Given
+        when(discountService.calculateDiscountAndSave(any(DiscountRequestDto.class), eq("order-42")))
+                .thenReturn(mockResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/discount/save")
+                        .header("Idempotency-Key", "order-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequestDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalSavings").value(6060.0));
+    }
+
+    @Test
+    void calculateDiscountPartial_WithInvalidLine_ReturnsPricedLinesAndLineErrors() throws Exception {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(Arrays.asList(
+                new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1),
+                new ProductDto(2L, "Shirt", "Clothing", -5.0, 0)
+        ));
+        DiscountResponseDto partialResponse = new DiscountResponseDto(
+                List.of(new DiscountedProductDto(1L, "Laptop", 45000.0, 5000.0)),
+                5000.0,
+                45000.0,
+                List.of(new LineErrorDto(1, "PRICE_INVALID", "Invalid product: Shirt. Price must be greater than 0"))
+        );
+        when(discountService.calculateDiscountPartial(any(DiscountRequestDto.class))).thenReturn(partialResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/discount/partial")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.discountedProducts.length()").value(1))
+                .andExpect(jsonPath("$.finalBill").value(45000.0))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].code").value("PRICE_INVALID"));
+    }
+
+    @Test
+    void calculateDiscount_WithValidRequest_OmitsErrors() throws Exception {
+        // Given
+        when(discountService.calculateDiscount(any(DiscountRequestDto.class))).thenReturn(mockResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/discount")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequestDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.errors").doesNotExist());
+    }
+
+    @Test
+    void calculateDiscountBatch_WithCarts_ReturnsResultPerCart() throws Exception {
+        // Given
+        BatchDiscountRequestDto requestDto = new BatchDiscountRequestDto(List.of(
+                new CartRequestDto("cart-1", validRequestDto.getProducts()),
+                new CartRequestDto("cart-2", List.of())
+        ));
+        BatchDiscountResponseDto batchResponse = new BatchDiscountResponseDto(List.of(
+                new CartResultDto("cart-1", mockResponse, null, null),
+                new CartResultDto("cart-2", null, "At least one product is required", null)
+        ));
+        when(discountService.calculateDiscountBatch(any(BatchDiscountRequestDto.class))).thenReturn(batchResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/discount/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].correlationId").value("cart-1"))
+                .andExpect(jsonPath("$.results[0].result.finalBill").value(48140.0))
+                .andExpect(jsonPath("$.results[0].error").doesNotExist())
+                .andExpect(jsonPath("$.results[1].result").doesNotExist())
+                .andExpect(jsonPath("$.results[1].error").value("At least one product is required"));
+    }
+
+    @Test
+    void repriceProducts_WithIdsAndQuantities_ReturnsCreateResponse() throws Exception {
+        // Given
+        when(discountService.repriceProducts(any(RepriceRequestDto.class))).thenReturn(mockResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/discount/reprice")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"id\":1,\"quantity\":1},{\"id\":2,\"quantity\":3}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.finalBill").value(48140.0));
+    }
+
+    @Test
+    void repriceProducts_WithZeroQuantity_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/discount/reprice")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"id\":1,\"quantity\":0}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void calculateDiscount_WithEmptyProducts_ReturnsBadRequest() throws Exception {
         // Given
@@ -122,6 +241,25 @@ class DiscountControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void calculateDiscount_WhenTotalsOverflow_ReturnsBadRequest() throws Exception {
+        // Given
+        ProductDto product = new ProductDto(1L, "Bullion", "Electronics", 999_999_999_999.0, 1);
+        DiscountRequestDto request = new DiscountRequestDto(List.of(product));
+        when(discountService.calculateDiscount(any(DiscountRequestDto.class)))
+                .thenThrow(new ArithmeticException("long overflow"));
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(discountController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        // When & Then
+        mockMvcWithAdvice.perform(post("/api/v1/products/discount")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Amounts are too large to price"));
+    }
+
     @Test
     void calculateDiscount_WithMissingRequiredFields_ReturnsBadRequest() throws Exception {
         // Given - Missing name and category
@@ -221,4 +359,27 @@ class DiscountControllerTest {
                 .andExpect(jsonPath("$.discountedProducts[0].id").doesNotExist())
                 .andExpect(jsonPath("$.discountedProducts[1].id").doesNotExist());
     }
+
+    @Test
+    void calculateDiscountStream_WithNdjsonBody_WritesNdjsonResponse() throws Exception {
+        // Given
+        String ndjson = "{\"id\":1,\"name\":\"Laptop\",\"category\":\"Electronics\",\"price\":50000.0,\"quantity\":1}\n";
+        String expected = "{\"id\":1,\"name\":\"Laptop\",\"finalPrice\":45000.0,\"savings\":5000.0}\n"
+                + "{\"itemCount\":1,\"totalSavings\":5000.0,\"finalBill\":45000.0}\n";
+        doAnswer(invocation -> {
+            InputStream in = invocation.getArgument(0);
+            in.readAllBytes();
+            OutputStream out = invocation.getArgument(1);
+            out.write(expected.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(discountStreamService).calculateDiscount(any(InputStream.class), any(OutputStream.class));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/products/discount/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expected));
+    }
 }
\ No newline at end of file
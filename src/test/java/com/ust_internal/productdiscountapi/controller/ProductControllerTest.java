@@ -0,0 +1,71 @@
+package com.ust_internal.productdiscountapi.controller;
+
+
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.ProductPageDto;
+import com.ust_internal.productdiscountapi.exception.GlobalExceptionHandler;
+import com.ust_internal.productdiscountapi.exception.ProductNotFoundException;
+import com.ust_internal.productdiscountapi.service.ProductCatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ProductCatalogService productCatalogService;
+
+    @InjectMocks
+    private ProductController productController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getProduct_WithUnknownId_ReturnsNotFound() throws Exception {
+        // Given
+        when(productCatalogService.getProduct(7L)).thenThrow(new ProductNotFoundException("Product not found: 7"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/products/7"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Product not found: 7"));
+    }
+
+    @Test
+    void findByCategory_WithCursor_ReturnsPageAndNextCursor() throws Exception {
+        // Given
+        ProductPageDto page = new ProductPageDto(
+                List.of(new ProductDto(11L, "Laptop", "Electronics", 50000.0, 1)), 11L, null);
+        when(productCatalogService.findByCategory("Electronics", 10L, 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/products")
+                        .param("category", "Electronics")
+                        .param("afterId", "10")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(11))
+                .andExpect(jsonPath("$.nextAfterId").value(11))
+                .andExpect(jsonPath("$.nextAfterPrice").doesNotExist());
+    }
+}
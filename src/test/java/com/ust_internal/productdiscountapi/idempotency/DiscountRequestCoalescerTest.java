@@ -0,0 +1,111 @@
+package com.ust_internal.productdiscountapi.idempotency;
+
+
+import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscountRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DiscountRequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new DiscountRequestCoalescer();
+        coalescer.bindTo(meterRegistry);
+    }
+
+    @Test
+    void execute_ConcurrentIdenticalCarts_ShareOneComputation() throws Exception {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DiscountResponseDto response = new DiscountResponseDto(List.of(), 5000.0, 45000.0);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            Future<DiscountResponseDto> leader = executor.submit(() -> coalescer.execute(cart(), () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return response;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<DiscountResponseDto> follower = executor.submit(() -> coalescer.execute(cart(), () -> {
+                runs.incrementAndGet();
+                return new DiscountResponseDto(List.of(), 0.0, 0.0);
+            }));
+            while (joined() < 1.0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            assertSame(response, leader.get(5, TimeUnit.SECONDS));
+            assertSame(response, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1.0, meterRegistry.get(DiscountRequestCoalescer.CALLS).tag("result", "computed")
+                .functionCounter().count());
+    }
+
+    @Test
+    void execute_SequentialIdenticalCarts_ComputeEachTime() {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+
+        // When
+        coalescer.execute(cart(), () -> new DiscountResponseDto(List.of(), (double) runs.incrementAndGet(), 0.0));
+        DiscountResponseDto second = coalescer.execute(cart(),
+                () -> new DiscountResponseDto(List.of(), (double) runs.incrementAndGet(), 0.0));
+
+        // Then
+        assertEquals(2.0, second.getTotalSavings());
+        assertEquals(0.0, joined());
+    }
+
+    @Test
+    void hash_WithEqualCarts_MatchesAndDiffersOnAnyField() {
+        // Given
+        DiscountRequestDto other = cart();
+        other.getProducts().get(0).setQuantity(2);
+
+        // When & Then
+        assertEquals(DiscountRequestCoalescer.hash(cart()), DiscountRequestCoalescer.hash(cart()));
+        assertNotEquals(DiscountRequestCoalescer.hash(cart()), DiscountRequestCoalescer.hash(other));
+    }
+
+    private double joined() {
+        return meterRegistry.get(DiscountRequestCoalescer.CALLS).tag("result", "joined").functionCounter().count();
+    }
+
+    private static DiscountRequestDto cart() {
+        return new DiscountRequestDto(List.of(
+                new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1),
+                new ProductDto(2L, "Shirt", "Clothing", 1000.0, 3)
+        ));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ust_internal.productdiscountapi.idempotency;
+
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(new DiscountProperties());
+        store.bindTo(meterRegistry);
+    }
+
+    @Test
+    void execute_ConcurrentDuplicates_RunActionOnce() throws Exception {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DiscountResponseDto response = new DiscountResponseDto(List.of(), 0.0, 0.0);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // When
+            Future<DiscountResponseDto> first = executor.submit(() -> store.execute("key:a", "hash", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return response;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<DiscountResponseDto> duplicate = executor.submit(() -> store.execute("key:a", "hash", () -> {
+                runs.incrementAndGet();
+                return new DiscountResponseDto(List.of(), 1.0, 1.0);
+            }));
+            release.countDown();
+
+            // Then
+            assertSame(response, first.get(5, TimeUnit.SECONDS));
+            assertSame(response, duplicate.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1.0, meterRegistry.get(IdempotencyStore.REPLAYED).functionCounter().count());
+    }
+
+    @Test
+    void execute_AfterFailure_RunsActionAgain() {
+        // Given
+        DiscountResponseDto response = new DiscountResponseDto(List.of(), 0.0, 0.0);
+        assertThrows(IllegalStateException.class, () -> store.execute("key:a", "hash", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        // When
+        DiscountResponseDto retried = store.execute("key:a", "hash", () -> response);
+
+        // Then
+        assertSame(response, retried);
+        assertEquals(0.0, meterRegistry.get(IdempotencyStore.REPLAYED).functionCounter().count());
+    }
+
+    @Test
+    void execute_ForgottenAfterSuccess_RunsActionAgain() {
+        // Given
+        AtomicReference<Runnable> forget = new AtomicReference<>();
+        store.execute("key:a", "hash", callback -> {
+            forget.set(callback);
+            return new DiscountResponseDto(List.of(), 0.0, 0.0);
+        });
+        DiscountResponseDto response = new DiscountResponseDto(List.of(), 1.0, 1.0);
+
+        // When
+        forget.get().run();
+        DiscountResponseDto retried = store.execute("key:a", "hash", () -> response);
+
+        // Then
+        assertSame(response, retried);
+        assertEquals(0.0, meterRegistry.get(IdempotencyStore.REPLAYED).functionCounter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.ust_internal.productdiscountapi.persistence;
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import com.ust_internal.productdiscountapi.exception.SaveQueueFullException;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductWriteBehindQueueTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DiscountProperties discountProperties = new DiscountProperties();
+    private final List<Integer> flushedBatchSizes = new CopyOnWriteArrayList<>();
+    private ProductWriteBehindQueue productWriteBehindQueue;
+
+    @BeforeEach
+    void setUp() {
+        DiscountProperties.WriteBehind writeBehind = discountProperties.getWriteBehind();
+        writeBehind.setEnabled(true);
+        writeBehind.setCapacity(4);
+        writeBehind.setBatchSize(2);
+        writeBehind.setFlushInterval(Duration.ofMillis(100));
+        writeBehind.setRetryBackoff(Duration.ofMillis(10));
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // The writer reuses its batch list, so record sizes at call time
+        lenient().when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            flushedBatchSizes.add(invocation.<List<?>>getArgument(0).size());
+            return List.of();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (productWriteBehindQueue != null) {
+            productWriteBehindQueue.stop();
+        }
+    }
+
+    @Test
+    void enqueue_FullBatch_FlushesInOneSaveAll() {
+        // Given
+        discountProperties.getWriteBehind().setFlushInterval(Duration.ofSeconds(5));
+        startQueue();
+
+        // When
+        productWriteBehindQueue.enqueue(List.of(new ProductEntity(), new ProductEntity()));
+
+        // Then
+        verify(transactionManager, timeout(1000)).commit(any());
+        assertEquals(List.of(2), flushedBatchSizes);
+    }
+
+    @Test
+    void enqueue_PartialBatch_FlushesAfterInterval() {
+        // Given
+        startQueue();
+
+        // When
+        productWriteBehindQueue.enqueue(List.of(new ProductEntity()));
+
+        // Then
+        verify(transactionManager, timeout(1000)).commit(any());
+        assertEquals(List.of(1), flushedBatchSizes);
+    }
+
+    @Test
+    void enqueue_BeyondCapacity_ThrowsSaveQueueFullExceptionAndQueuesNothing() {
+        // Given
+        startQueue();
+        List<ProductEntity> products = List.of(
+                new ProductEntity(), new ProductEntity(), new ProductEntity(), new ProductEntity(), new ProductEntity());
+
+        // When & Then
+        assertThrows(SaveQueueFullException.class, () -> productWriteBehindQueue.enqueue(products));
+        assertEquals(0, productWriteBehindQueue.depth());
+        assertEquals(5.0, meterRegistry.get(DiscountMetrics.SAVE_REJECTED).counter().count());
+    }
+
+    @Test
+    void stop_WithQueuedProducts_FlushesBeforeReturning() {
+        // Given
+        discountProperties.getWriteBehind().setBatchSize(10);
+        startQueue();
+        productWriteBehindQueue.enqueue(List.of(new ProductEntity(), new ProductEntity(), new ProductEntity()));
+
+        // When
+        productWriteBehindQueue.stop();
+
+        // Then
+        assertEquals(List.of(3), flushedBatchSizes);
+        assertEquals(0, productWriteBehindQueue.depth());
+        assertThrows(SaveQueueFullException.class,
+                () -> productWriteBehindQueue.enqueue(List.of(new ProductEntity())));
+    }
+
+    @Test
+    void enqueue_FlushFails_RunsFailureCallbackOncePerSave() {
+        // Given
+        discountProperties.getWriteBehind().setBatchSize(10);
+        when(productRepository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        AtomicInteger failures = new AtomicInteger();
+        startQueue();
+
+        // When
+        productWriteBehindQueue.enqueue(List.of(new ProductEntity(), new ProductEntity()), failures::incrementAndGet);
+        productWriteBehindQueue.stop();
+
+        // Then
+        verify(productRepository, times(3)).saveAll(anyList());
+        assertEquals(1, failures.get());
+        assertEquals(2.0, meterRegistry.get(DiscountMetrics.SAVE_FAILED).counter().count());
+    }
+
+    @Test
+    void enqueue_FlushFailsOnce_RetriesWithoutDroppingProducts() {
+        // Given
+        discountProperties.getWriteBehind().setBatchSize(10);
+        doThrow(new IllegalStateException("connection reset"))
+                .doAnswer(invocation -> {
+                    flushedBatchSizes.add(invocation.<List<?>>getArgument(0).size());
+                    return List.of();
+                })
+                .when(productRepository).saveAll(anyList());
+        AtomicInteger failures = new AtomicInteger();
+        startQueue();
+
+        // When
+        productWriteBehindQueue.enqueue(List.of(new ProductEntity(), new ProductEntity()), failures::incrementAndGet);
+        productWriteBehindQueue.stop();
+
+        // Then
+        assertEquals(List.of(2), flushedBatchSizes);
+        assertEquals(0, failures.get());
+        assertEquals(0.0, meterRegistry.get(DiscountMetrics.SAVE_FAILED).counter().count());
+    }
+
+    @Test
+    void enqueue_FlushFailsNonTransiently_DropsBatchWithoutRetrying() {
+        // Given
+        discountProperties.getWriteBehind().setBatchSize(10);
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(productRepository).saveAll(anyList());
+        AtomicInteger failures = new AtomicInteger();
+        startQueue();
+
+        // When
+        productWriteBehindQueue.enqueue(List.of(new ProductEntity()), failures::incrementAndGet);
+        productWriteBehindQueue.stop();
+
+        // Then
+        verify(productRepository, times(1)).saveAll(anyList());
+        assertEquals(1, failures.get());
+    }
+
+    private void startQueue() {
+        productWriteBehindQueue = new ProductWriteBehindQueue(
+                discountProperties, productRepository, transactionManager, new DiscountMetrics(meterRegistry));
+        productWriteBehindQueue.start();
+    }
+}
@@ -0,0 +1,188 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.rule.CartRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.RuleType;
+import com.ust_internal.productdiscountapi.rule.ThresholdType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartEvaluatorTest {
+
+    private static final String[] CATEGORIES = {"Electronics", "Clothing", "Books"};
+
+    private ForkJoinPool pricingPool;
+    private DiscountProperties sequentialProperties;
+    private DiscountProperties parallelProperties;
+
+    @BeforeEach
+    void setUp() {
+        pricingPool = new ForkJoinPool(4);
+        sequentialProperties = properties(false);
+        parallelProperties = properties(true);
+        parallelProperties.getParallel().setThreshold(1_000);
+        parallelProperties.getParallel().setChunkSize(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pricingPool.shutdownNow();
+    }
+
+    @Test
+    void evaluate_ParallelAboveThreshold_MatchesSequentialResultAndOrder() {
+        // Given
+        List<ProductDto> products = cart(5_000);
+        CartEvaluator sequential = new CartEvaluator(
+                new DiscountRuleEngine(sequentialProperties), sequentialProperties, pricingPool,
+                new LineDiscountCache(sequentialProperties));
+        CartEvaluator parallel = new CartEvaluator(
+                new DiscountRuleEngine(parallelProperties), parallelProperties, pricingPool,
+                new LineDiscountCache(parallelProperties));
+
+        // When
+        CartEvaluation expected = sequential.evaluate(products);
+        CartEvaluation actual = parallel.evaluate(products);
+
+        // Then
+        assertEquals(expected.getTotalSavings(), actual.getTotalSavings());
+        assertEquals(expected.getFinalBill(), actual.getFinalBill());
+        assertEquals(expected.getLines(), actual.getLines());
+        assertTrue(pricingPool.getStealCount() > 0 || pricingPool.getPoolSize() > 0,
+                "Expected the dedicated pricing pool to run the evaluation");
+    }
+
+    @Test
+    void evaluate_BelowThreshold_DoesNotUsePricingPool() {
+        // Given
+        CartEvaluator parallel = new CartEvaluator(
+                new DiscountRuleEngine(parallelProperties), parallelProperties, pricingPool,
+                new LineDiscountCache(parallelProperties));
+
+        // When
+        CartEvaluation evaluation = parallel.evaluate(cart(999));
+
+        // Then
+        assertEquals(999, evaluation.getLines().size());
+        assertEquals(0, pricingPool.getPoolSize());
+    }
+
+    @Test
+    void evaluate_WithSatisfiedCartRules_AdjustsTotalsAndAllocatesToLines() {
+        // Given
+        sequentialProperties.setCartRules(cartRules(50000.0));
+        CartEvaluator evaluator = new CartEvaluator(
+                new DiscountRuleEngine(sequentialProperties), sequentialProperties, pricingPool,
+                new LineDiscountCache(sequentialProperties));
+
+        // When
+        CartEvaluation evaluation = evaluator.evaluate(bundleCart());
+
+        // Then
+        assertEquals(580_000L, evaluation.getCartSavings());
+        assertEquals(1_080_000L, evaluation.getTotalSavings());
+        assertEquals(5_120_000L, evaluation.getFinalBill());
+        assertEquals(List.of("big-cart", "electronics-bundle"), evaluation.getAppliedCartRules());
+
+        DiscountedProductDto laptop = evaluation.getLines().get(0);
+        assertEquals(40500.0, laptop.getFinalPrice());
+        assertEquals(9500.0, laptop.getSavings());
+        assertEquals(4500.0, laptop.getCartSavings());
+        DiscountedProductDto shirt = evaluation.getLines().get(2);
+        assertEquals(1700.0, shirt.getFinalPrice());
+        assertEquals(300.0, shirt.getCartSavings());
+
+        assertEquals(10800.0, evaluation.toResponse().getTotalSavings());
+        assertEquals(5800.0, evaluation.toResponse().getCartSavings());
+    }
+
+    @Test
+    void evaluate_WithUnsatisfiedCartRules_LeavesLinesUnchanged() {
+        // Given
+        sequentialProperties.setCartRules(List.of(cartRules(100000.0).get(0)));
+        CartEvaluator evaluator = new CartEvaluator(
+                new DiscountRuleEngine(sequentialProperties), sequentialProperties, pricingPool,
+                new LineDiscountCache(sequentialProperties));
+
+        // When
+        CartEvaluation evaluation = evaluator.evaluate(bundleCart());
+
+        // Then
+        assertEquals(0L, evaluation.getCartSavings());
+        assertEquals(500_000L, evaluation.getTotalSavings());
+        assertTrue(evaluation.getAppliedCartRules().isEmpty());
+        assertNull(evaluation.getLines().get(0).getCartSavings());
+        assertNull(evaluation.toResponse().getCartSavings());
+    }
+
+    private static List<ProductDto> bundleCart() {
+        return List.of(
+                new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1),
+                new ProductDto(2L, "Phone", "electronics", 10000.0, 1),
+                new ProductDto(3L, "Shirt", "Clothing", 1000.0, 2)
+        );
+    }
+
+    private static List<CartRuleDefinition> cartRules(double minCartTotal) {
+        return List.of(
+                CartRuleDefinition.builder()
+                        .name("big-cart")
+                        .percentage(10.0)
+                        .minCartTotal(minCartTotal)
+                        .build(),
+                CartRuleDefinition.builder()
+                        .name("electronics-bundle")
+                        .triggerCategory("Electronics")
+                        .triggerQuantity(2)
+                        .targetCategory("Clothing")
+                        .percentage(5.0)
+                        .build()
+        );
+    }
+
+    private static List<ProductDto> cart(int size) {
+        Random random = new Random(7);
+        List<ProductDto> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new ProductDto((long) i, "Product " + i, CATEGORIES[i % CATEGORIES.length],
+                    10 + random.nextInt(40_000) + random.nextInt(100) / 100.0, 1 + random.nextInt(12)));
+        }
+        return products;
+    }
+
+    private static DiscountProperties properties(boolean parallel) {
+        DiscountProperties properties = new DiscountProperties();
+        properties.setRules(List.of(
+                DiscountRuleDefinition.builder()
+                        .category("Electronics")
+                        .type(RuleType.PERCENTAGE)
+                        .thresholdType(ThresholdType.PRICE)
+                        .threshold(20000.0)
+                        .percentage(10.0)
+                        .build(),
+                DiscountRuleDefinition.builder()
+                        .category("Clothing")
+                        .type(RuleType.BUY_N_GET_M)
+                        .thresholdType(ThresholdType.QUANTITY)
+                        .threshold(3.0)
+                        .buyQuantity(2)
+                        .freeQuantity(1)
+                        .build()
+        ));
+        properties.getParallel().setEnabled(parallel);
+        return properties;
+    }
+}
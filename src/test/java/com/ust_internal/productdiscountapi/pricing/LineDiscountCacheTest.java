@@ -0,0 +1,95 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.rule.DiscountRule;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.DiscountRulesChangedEvent;
+import com.ust_internal.productdiscountapi.rule.RuleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineDiscountCacheTest {
+
+    private LineDiscountCache lineDiscountCache;
+    private DiscountRuleEngine discountRuleEngine;
+
+    @BeforeEach
+    void setUp() {
+        DiscountProperties properties = new DiscountProperties();
+        properties.setRules(List.of(rule("Books", 10.0)));
+        properties.getCache().setEnabled(true);
+        properties.getCache().setMaximumSize(100);
+        lineDiscountCache = new LineDiscountCache(properties);
+        discountRuleEngine = new DiscountRuleEngine(properties, event -> {
+            if (event instanceof DiscountRulesChangedEvent changed) {
+                lineDiscountCache.onRulesChanged(changed);
+            }
+        });
+    }
+
+    @Test
+    void savings_RepeatedLine_IsServedFromCache() {
+        // Given
+        DiscountRule rule = discountRuleEngine.find("books");
+
+        // When
+        long first = lineDiscountCache.savings(rule, 10_000L, 3);
+        long second = lineDiscountCache.savings(discountRuleEngine.find("BOOKS"), 10_000L, 3);
+
+        // Then
+        assertEquals(3_000L, first);
+        assertEquals(3_000L, second);
+        assertEquals(1, lineDiscountCache.stats().missCount());
+        assertEquals(1, lineDiscountCache.stats().hitCount());
+    }
+
+    @Test
+    void savings_WithoutRule_IsZeroAndNotCached() {
+        // When & Then
+        assertEquals(0L, lineDiscountCache.savings(null, 10_000L, 3));
+        assertEquals(0, lineDiscountCache.stats().requestCount());
+    }
+
+    @Test
+    void reload_InvalidatesCachedLines() {
+        // Given
+        lineDiscountCache.savings(discountRuleEngine.find("books"), 10_000L, 3);
+        assertEquals(1, lineDiscountCache.size());
+
+        // When
+        discountRuleEngine.reload(List.of(rule("Books", 20.0)));
+
+        // Then
+        assertEquals(0, lineDiscountCache.size());
+        assertEquals(6_000L, lineDiscountCache.savings(discountRuleEngine.find("books"), 10_000L, 3));
+    }
+
+    @Test
+    void savings_WhenDisabled_ComputesDirectly() {
+        // Given
+        DiscountProperties properties = new DiscountProperties();
+        LineDiscountCache disabled = new LineDiscountCache(properties);
+
+        // When
+        long savings = disabled.savings(discountRuleEngine.find("books"), 10_000L, 3);
+
+        // Then
+        assertEquals(3_000L, savings);
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, disabled.stats().requestCount());
+    }
+
+    private static DiscountRuleDefinition rule(String category, double percentage) {
+        return DiscountRuleDefinition.builder()
+                .category(category)
+                .type(RuleType.PERCENTAGE)
+                .percentage(percentage)
+                .build();
+    }
+}
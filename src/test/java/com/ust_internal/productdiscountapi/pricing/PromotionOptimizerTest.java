@@ -0,0 +1,94 @@
+package com.ust_internal.productdiscountapi.pricing;
+
+
+import com.ust_internal.productdiscountapi.rule.CartRule;
+import com.ust_internal.productdiscountapi.rule.CartRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.CartRuleTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionOptimizerTest {
+
+    private static final long BUDGET = 50_000_000L;
+
+    @Test
+    void select_WithGroupedAlternatives_PicksBestOfGroupAndStacksTheRest() {
+        // Given
+        CartRuleTable table = CartRuleTable.compile(List.of(
+                rule("a-10", "A", 10.0, "seasonal", false),
+                rule("a-20", "A", 20.0, "seasonal", false),
+                rule("b-5", "B", 5.0, null, false)
+        ));
+
+        // When
+        PromotionOptimizer.Selection selection = PromotionOptimizer.select(
+                table.getRules(), totals(table, 10_000L, 10_000L), BUDGET);
+
+        // Then
+        assertEquals(List.of("a-20", "b-5"), names(selection));
+        assertTrue(selection.exhaustive());
+    }
+
+    @Test
+    void select_WhenCapMakesGreedyWorse_FindsBetterCombination() {
+        // Given
+        CartRuleTable table = CartRuleTable.compile(List.of(
+                rule("a-60", "A", 60.0, "g1", false),
+                rule("b-50", "B", 50.0, "g1", false),
+                rule("a-60-too", "A", 60.0, "g2", false)
+        ));
+        long[] totals = totals(table, 10_000L, 10_000L);
+
+        // When
+        PromotionOptimizer.Selection optimal = PromotionOptimizer.select(table.getRules(), totals, BUDGET);
+        PromotionOptimizer.Selection greedy = PromotionOptimizer.select(table.getRules(), totals, 0L);
+
+        // Then
+        assertEquals(List.of("b-50", "a-60-too"), names(optimal));
+        assertTrue(optimal.exhaustive());
+        assertEquals(List.of("a-60", "a-60-too"), names(greedy));
+        assertFalse(greedy.exhaustive());
+    }
+
+    @Test
+    void select_WithBetterExclusiveRule_AppliesItAlone() {
+        // Given
+        CartRuleTable table = CartRuleTable.compile(List.of(
+                rule("a-10", "A", 10.0, null, false),
+                rule("b-10", "B", 10.0, null, false),
+                rule("cart-25", null, 25.0, null, true)
+        ));
+
+        // When
+        PromotionOptimizer.Selection selection = PromotionOptimizer.select(
+                table.getRules(), totals(table, 10_000L, 10_000L), BUDGET);
+
+        // Then
+        assertEquals(List.of("cart-25"), names(selection));
+    }
+
+    private static CartRuleDefinition rule(String name, String target, double percentage, String group,
+                                           boolean exclusive) {
+        return CartRuleDefinition.builder()
+                .name(name)
+                .targetCategory(target)
+                .percentage(percentage)
+                .group(group)
+                .exclusive(exclusive)
+                .build();
+    }
+
+    private static long[] totals(CartRuleTable table, long a, long b) {
+        long[] totals = new long[table.slotCount() + 1];
+        totals[table.slot("A")] = a;
+        totals[table.slot("B")] = b;
+        return totals;
+    }
+
+    private static List<String> names(PromotionOptimizer.Selection selection) {
+        return selection.rules().stream().map(CartRule::name).toList();
+    }
+}
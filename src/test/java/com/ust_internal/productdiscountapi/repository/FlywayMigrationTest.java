@@ -0,0 +1,49 @@
+package com.ust_internal.productdiscountapi.repository;
+
+
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the migrations the prod profile uses and lets Hibernate validate the entities
+ * against the resulting schema, so a drifted migration fails here rather than at startup.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void migrate_CreatesSchemaThatMatchesEntities() {
+        // Given
+        List<ProductEntity> products = List.of(
+                new ProductEntity(null, "Laptop", "Electronics", 50000.0, 1),
+                new ProductEntity(null, "Phone", "Electronics", 20000.0, 2)
+        );
+
+        // When
+        productRepository.saveAll(products);
+        List<ProductEntity> page = productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(
+                "Electronics", 0L, Limit.of(10));
+
+        // Then
+        assertEquals(1, flyway.info().applied().length);
+        assertEquals(2, page.size());
+        assertTrue(page.get(0).getId() < page.get(1).getId());
+    }
+}
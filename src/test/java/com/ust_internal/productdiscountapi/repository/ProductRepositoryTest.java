@@ -0,0 +1,202 @@
+package com.ust_internal.productdiscountapi.repository;
+
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import com.ust_internal.productdiscountapi.mapper.ProductMapper;
+import com.ust_internal.productdiscountapi.service.ProductCatalogServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductRepositoryTest {
+
+    // allocationSize of ProductEntity's id sequence
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_With500Products_UsesBatchedInserts() {
+        // Given
+        // Start a sequence block first, so the ids below need the same number of sequence
+        // calls whatever earlier tests left in the pooled optimizer
+        productRepository.save(new ProductEntity(null, "Warm-up", "Grocery", 1.0, 1));
+        entityManager.flush();
+        statistics.clear();
+        List<ProductEntity> products = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            products.add(new ProductEntity(null, "Product " + i, "Grocery", 100.0, 1));
+        }
+
+        // When
+        List<ProductEntity> saved = productRepository.saveAll(products);
+        entityManager.flush();
+
+        // Then
+        assertEquals(500, saved.size());
+        assertTrue(saved.stream().allMatch(product -> product.getId() != null));
+        assertEquals(500, statistics.getEntityInsertCount());
+        // One sequence call per ALLOCATION_SIZE ids, plus one insert statement that the JDBC
+        // batches of hibernate.jdbc.batch_size rows all reuse, instead of 500 statements
+        assertEquals(500 / ALLOCATION_SIZE + 1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByCategoryAndIdGreaterThan_WalksCategoryInKeysetPages() {
+        // Given
+        List<ProductEntity> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(new ProductEntity(null, "Laptop " + i, "Electronics", 1000.0 + i, 1));
+            products.add(new ProductEntity(null, "Apple " + i, "Grocery", 1.0, 1));
+        }
+        productRepository.saveAll(products);
+        entityManager.flush();
+
+        // When
+        List<ProductEntity> firstPage = productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(
+                "Electronics", 0L, Limit.of(3));
+        List<ProductEntity> secondPage = productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(
+                "Electronics", firstPage.get(2).getId(), Limit.of(3));
+
+        // Then
+        assertEquals(List.of("Laptop 0", "Laptop 1", "Laptop 2"), names(firstPage));
+        assertEquals(List.of("Laptop 3", "Laptop 4"), names(secondPage));
+    }
+
+    @Test
+    void findPriceRangePage_WithPriceTies_OrdersByPriceThenId() {
+        // Given
+        productRepository.saveAll(List.of(
+                new ProductEntity(null, "A", "Grocery", 10.0, 1),
+                new ProductEntity(null, "B", "Grocery", 20.0, 1),
+                new ProductEntity(null, "C", "Grocery", 20.0, 1),
+                new ProductEntity(null, "D", "Grocery", 30.0, 1),
+                new ProductEntity(null, "E", "Grocery", 99.0, 1)
+        ));
+        entityManager.flush();
+
+        // When
+        List<ProductEntity> firstPage = productRepository.findPriceRangePage(10.0, 0L, 50.0, Limit.of(2));
+        ProductEntity last = firstPage.get(1);
+        List<ProductEntity> secondPage = productRepository.findPriceRangePage(
+                last.getPrice(), last.getId(), 50.0, Limit.of(2));
+
+        // Then
+        assertEquals(List.of("A", "B"), names(firstPage));
+        assertEquals(List.of("C", "D"), names(secondPage));
+    }
+
+    @Test
+    void findByPriceRange_WithCursorBelowMinPrice_KeepsRowsAtMinPriceWithLowerIds() {
+        // Given: a cursor left on A, then the range narrowed to start above A's price
+        List<ProductEntity> saved = productRepository.saveAll(List.of(
+                new ProductEntity(null, "B", "Grocery", 20.0, 1),
+                new ProductEntity(null, "A", "Grocery", 10.0, 1),
+                new ProductEntity(null, "C", "Grocery", 20.0, 1),
+                new ProductEntity(null, "D", "Grocery", 30.0, 1)
+        ));
+        entityManager.flush();
+        ProductCatalogServiceImpl productCatalogService = new ProductCatalogServiceImpl(
+                productRepository, new ProductMapper(), new DiscountProperties());
+
+        // When
+        List<ProductDto> page = productCatalogService.findByPriceRange(
+                20.0, 50.0, 10.0, saved.get(1).getId(), 10).getProducts();
+
+        // Then
+        assertEquals(List.of("B", "C", "D"), page.stream().map(ProductDto::getName).toList());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findByCategoryAndIdGreaterThan_RepeatedPage_IsServedFromQueryCache() {
+        // Given
+        productRepository.saveAll(List.of(
+                new ProductEntity(null, "Novel", "Books", 12.0, 1),
+                new ProductEntity(null, "Atlas", "Books", 30.0, 1)
+        ));
+
+        try {
+            // When
+            productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc("Books", 0L, Limit.of(10));
+            statistics.clear();
+            List<ProductEntity> cached = productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(
+                    "Books", 0L, Limit.of(10));
+
+            // Then
+            assertEquals(2, cached.size());
+            assertEquals(1, statistics.getQueryCacheHitCount());
+            assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            productRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findAllByIdCached_ReturnsRowsAlignedWithIdsAndHitsSecondLevelCache() {
+        // Given
+        List<ProductEntity> saved = productRepository.saveAll(List.of(
+                new ProductEntity(null, "Laptop", "Electronics", 50000.0, 1),
+                new ProductEntity(null, "Shirt", "Clothing", 1000.0, 1)
+        ));
+        Long laptopId = saved.get(0).getId();
+        Long shirtId = saved.get(1).getId();
+
+        try {
+            // When
+            List<ProductEntity> first = productRepository.findAllByIdCached(List.of(shirtId, -1L, laptopId, shirtId));
+            statistics.clear();
+            List<ProductEntity> second = productRepository.findAllByIdCached(List.of(laptopId, shirtId));
+
+            // Then
+            assertEquals(4, first.size());
+            assertEquals("Shirt", first.get(0).getName());
+            assertNull(first.get(1));
+            assertEquals("Laptop", first.get(2).getName());
+            assertEquals("Shirt", first.get(3).getName());
+            assertEquals(List.of("Laptop", "Shirt"), names(second));
+            assertEquals(2, statistics.getSecondLevelCacheHitCount());
+            assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            productRepository.deleteAll();
+        }
+    }
+
+    private static List<String> names(List<ProductEntity> products) {
+        return products.stream()
+                .map(ProductEntity::getName)
+                .toList();
+    }
+}
@@ -0,0 +1,184 @@
+package com.ust_internal.productdiscountapi.rule;
+
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.exception.InvalidDiscountRuleException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscountRuleEngineTest {
+
+    private DiscountRuleEngine discountRuleEngine;
+
+    @BeforeEach
+    void setUp() {
+        DiscountProperties properties = new DiscountProperties();
+        properties.setRules(List.of(
+                DiscountRuleDefinition.builder()
+                        .category("Electronics")
+                        .type(RuleType.PERCENTAGE)
+                        .thresholdType(ThresholdType.PRICE)
+                        .threshold(20000.0)
+                        .percentage(10.0)
+                        .build(),
+                DiscountRuleDefinition.builder()
+                        .category("Clothing")
+                        .type(RuleType.BUY_N_GET_M)
+                        .thresholdType(ThresholdType.QUANTITY)
+                        .threshold(3.0)
+                        .buyQuantity(2)
+                        .freeQuantity(1)
+                        .build()
+        ));
+        discountRuleEngine = new DiscountRuleEngine(properties);
+    }
+
+    @Test
+    void find_IsCaseInsensitive() {
+        // When & Then
+        assertNotNull(discountRuleEngine.find("electronics"));
+        assertNotNull(discountRuleEngine.find("ELECTRONICS"));
+        assertSame(discountRuleEngine.find("Clothing"), discountRuleEngine.find("cLoThInG"));
+    }
+
+    @Test
+    void find_UnknownOrNullCategory_ReturnsNull() {
+        // When & Then
+        assertNull(discountRuleEngine.find("Books"));
+        assertNull(discountRuleEngine.find(null));
+    }
+
+    @Test
+    void percentageRule_AppliesOnlyAtOrAbovePriceThreshold() {
+        // Given
+        DiscountRule rule = discountRuleEngine.find("electronics");
+
+        // When & Then
+        assertEquals(0L, rule.savings(1_999_900L, 1));
+        assertEquals(400_000L, rule.savings(2_000_000L, 2));
+    }
+
+    @Test
+    void percentageRule_WithOverflowingLineTotal_ThrowsArithmeticException() {
+        // Given
+        DiscountRule rule = discountRuleEngine.find("electronics");
+
+        // When & Then
+        assertThrows(ArithmeticException.class, () -> rule.savings(Long.MAX_VALUE / 1_000, 1_000));
+        assertThrows(ArithmeticException.class, () -> rule.savings(Long.MAX_VALUE / 4, 2));
+    }
+
+    @Test
+    void buyNGetMRule_GivesFreeItemsPerCompleteGroup() {
+        // Given
+        DiscountRule rule = discountRuleEngine.find("clothing");
+
+        // When & Then
+        assertEquals(0L, rule.savings(50_000L, 2));
+        assertEquals(50_000L, rule.savings(50_000L, 5));
+        assertEquals(100_000L, rule.savings(50_000L, 6));
+    }
+
+    @Test
+    void percentageRule_RoundsHalfUpToMinorUnits() {
+        // Given
+        discountRuleEngine.reload(List.of(DiscountRuleDefinition.builder()
+                .category("Books")
+                .type(RuleType.PERCENTAGE)
+                .percentage(12.5)
+                .build()));
+
+        // When & Then - 12.5% of 0.99 is 0.12375
+        assertEquals(12L, discountRuleEngine.find("books").savings(99L, 1));
+        // 12.5% of 1.01 is 0.12625
+        assertEquals(13L, discountRuleEngine.find("books").savings(101L, 1));
+    }
+
+    @Test
+    void reload_SwapsTableAtomically() {
+        // Given
+        DiscountRuleTable before = discountRuleEngine.getTable();
+
+        // When
+        discountRuleEngine.reload(List.of(DiscountRuleDefinition.builder()
+                .category("Books")
+                .type(RuleType.PERCENTAGE)
+                .percentage(15.0)
+                .build()));
+
+        // Then
+        assertNotSame(before, discountRuleEngine.getTable());
+        assertNotNull(before.find("electronics"));
+        assertNull(discountRuleEngine.find("electronics"));
+        assertEquals(15_000L, discountRuleEngine.find("books").savings(10_000L, 10));
+    }
+
+    @Test
+    void reload_WithInvalidDefinition_KeepsCurrentRules() {
+        // Given
+        List<DiscountRuleDefinition> invalid = List.of(DiscountRuleDefinition.builder()
+                .category("Books")
+                .type(RuleType.PERCENTAGE)
+                .percentage(150.0)
+                .build());
+
+        // When & Then
+        assertThrows(InvalidDiscountRuleException.class, () -> discountRuleEngine.reload(invalid));
+        assertNotNull(discountRuleEngine.find("electronics"));
+    }
+
+    @Test
+    void reload_WithNullDefinition_ThrowsInvalidDiscountRuleExceptionAndKeepsCurrentRules() {
+        // Given
+        List<DiscountRuleDefinition> definitions = Arrays.asList(
+                DiscountRuleDefinition.builder().category("Books").type(RuleType.PERCENTAGE).percentage(10.0).build(),
+                null);
+
+        // When & Then
+        assertThrows(InvalidDiscountRuleException.class, () -> discountRuleEngine.reload(definitions));
+        assertNotNull(discountRuleEngine.find("electronics"));
+    }
+
+    @Test
+    void reload_WithDuplicateCategory_ThrowsInvalidDiscountRuleException() {
+        // Given
+        DiscountRuleDefinition first = DiscountRuleDefinition.builder()
+                .category("Books")
+                .type(RuleType.PERCENTAGE)
+                .percentage(10.0)
+                .build();
+        DiscountRuleDefinition second = DiscountRuleDefinition.builder()
+                .category("BOOKS")
+                .type(RuleType.BUY_N_GET_M)
+                .buyQuantity(1)
+                .freeQuantity(1)
+                .build();
+
+        // When & Then
+        assertThrows(InvalidDiscountRuleException.class, () -> discountRuleEngine.reload(List.of(first, second)));
+    }
+
+    @Test
+    void reload_WithDuplicateCategoryDifferingOnlyInWhitespace_ThrowsInvalidDiscountRuleException() {
+        // Given
+        DiscountRuleDefinition first = DiscountRuleDefinition.builder()
+                .category("Books")
+                .type(RuleType.PERCENTAGE)
+                .percentage(10.0)
+                .build();
+        DiscountRuleDefinition second = DiscountRuleDefinition.builder()
+                .category(" books ")
+                .type(RuleType.PERCENTAGE)
+                .percentage(50.0)
+                .build();
+
+        // When & Then
+        assertThrows(InvalidDiscountRuleException.class, () -> discountRuleEngine.reload(List.of(first, second)));
+        assertNull(discountRuleEngine.find("Books"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import com.ust_internal.productdiscountapi.cart.CartSessionStore;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.CartDto;
+import com.ust_internal.productdiscountapi.dto.CartUpdateDto;
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.exception.CartLimitExceededException;
+import com.ust_internal.productdiscountapi.exception.CartNotFoundException;
+import com.ust_internal.productdiscountapi.exception.InvalidProductException;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluator;
+import com.ust_internal.productdiscountapi.pricing.LineDiscountCache;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.RuleType;
+import com.ust_internal.productdiscountapi.rule.ThresholdType;
+import com.ust_internal.productdiscountapi.validation.ProductValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartServiceImplTest {
+
+    private DiscountProperties discountProperties;
+    private DiscountRuleEngine discountRuleEngine;
+    private CartServiceImpl cartService;
+
+    @BeforeEach
+    void setUp() {
+        discountProperties = DiscountServiceImplTest.defaultRules();
+        discountProperties.getCart().setMaxLines(2);
+        discountRuleEngine = new DiscountRuleEngine(discountProperties);
+        CartEvaluator cartEvaluator = new CartEvaluator(
+                discountRuleEngine, discountProperties, null, new LineDiscountCache(discountProperties));
+        cartService = new CartServiceImpl(new CartSessionStore(discountProperties), cartEvaluator,
+                discountRuleEngine, new ProductValidator(), discountProperties);
+    }
+
+    @Test
+    void putLine_AddReplaceAndRemove_KeepsTotalsInStep() {
+        // Given
+        String cartId = cartService.createCart().getCartId();
+
+        // When
+        cartService.putLine(cartId, "a", new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1));
+        CartUpdateDto added = cartService.putLine(cartId, "b", new ProductDto(2L, "Shirt", "Clothing", 1000.0, 3));
+        CartUpdateDto replaced = cartService.putLine(cartId, "b", new ProductDto(2L, "Shirt", "Clothing", 1000.0, 1));
+        CartUpdateDto removed = cartService.removeLine(cartId, "a");
+
+        // Then
+        assertEquals(2, added.getLineCount());
+        assertEquals(6000.0, added.getTotalSavings());
+        assertEquals(47000.0, added.getFinalBill());
+        assertEquals(1000.0, added.getLine().getSavings());
+
+        assertEquals(5000.0, replaced.getTotalSavings());
+        assertEquals(46000.0, replaced.getFinalBill());
+
+        assertNull(removed.getLine());
+        assertEquals(1, removed.getLineCount());
+        assertEquals(0.0, removed.getTotalSavings());
+        assertEquals(1000.0, removed.getFinalBill());
+    }
+
+    @Test
+    void getCart_AfterRuleReload_RepricesEveryLine() {
+        // Given
+        String cartId = cartService.createCart().getCartId();
+        cartService.putLine(cartId, "a", new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1));
+
+        // When
+        discountRuleEngine.reload(List.of(DiscountRuleDefinition.builder()
+                .category("electronics")
+                .type(RuleType.PERCENTAGE)
+                .thresholdType(ThresholdType.PRICE)
+                .threshold(20000.0)
+                .percentage(20.0)
+                .build()));
+        CartDto cart = cartService.getCart(cartId);
+
+        // Then
+        assertEquals(10000.0, cart.getTotalSavings());
+        assertEquals(40000.0, cart.getFinalBill());
+        assertEquals(10000.0, cart.getLines().get(0).getSavings());
+    }
+
+    @Test
+    void putLine_BeyondMaxLines_ThrowsCartLimitExceeded() {
+        // Given
+        String cartId = cartService.createCart().getCartId();
+        cartService.putLine(cartId, "a", new ProductDto(1L, "Apple", "Grocery", 1.0, 1));
+        cartService.putLine(cartId, "b", new ProductDto(2L, "Pear", "Grocery", 1.0, 1));
+
+        // When & Then
+        assertThrows(CartLimitExceededException.class,
+                () -> cartService.putLine(cartId, "c", new ProductDto(3L, "Plum", "Grocery", 1.0, 1)));
+        assertEquals(2, cartService.putLine(cartId, "a",
+                new ProductDto(1L, "Apple", "Grocery", 1.0, 2)).getLineCount());
+    }
+
+    @Test
+    void putLine_WithInvalidProduct_ThrowsAndLeavesCartUnchanged() {
+        // Given
+        String cartId = cartService.createCart().getCartId();
+
+        // When & Then
+        assertThrows(InvalidProductException.class,
+                () -> cartService.putLine(cartId, "a", new ProductDto(1L, "Apple", "Grocery", -1.0, 1)));
+        assertTrue(cartService.getCart(cartId).getLines().isEmpty());
+    }
+
+    @Test
+    void getCart_AfterDelete_ThrowsCartNotFound() {
+        // Given
+        String cartId = cartService.createCart().getCartId();
+
+        // When
+        cartService.deleteCart(cartId);
+
+        // Then
+        assertThrows(CartNotFoundException.class, () -> cartService.getCart(cartId));
+    }
+}
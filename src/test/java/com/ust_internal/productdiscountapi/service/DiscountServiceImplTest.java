@@ -1,27 +1,58 @@
 package com.ust_internal.productdiscountapi.service;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountRequestDto;
+import com.ust_internal.productdiscountapi.dto.BatchDiscountResponseDto;
+import com.ust_internal.productdiscountapi.dto.CartRequestDto;
+import com.ust_internal.productdiscountapi.dto.CartResultDto;
 import com.ust_internal.productdiscountapi.dto.DiscountRequestDto;
 import com.ust_internal.productdiscountapi.dto.DiscountResponseDto;
 import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.dto.LineErrorDto;
 import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.dto.RepriceItemDto;
+import com.ust_internal.productdiscountapi.dto.RepriceRequestDto;
 import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import com.ust_internal.productdiscountapi.exception.BatchLimitExceededException;
 import com.ust_internal.productdiscountapi.exception.InvalidProductException;
+import com.ust_internal.productdiscountapi.exception.ProductNotFoundException;
+import com.ust_internal.productdiscountapi.exception.SaveQueueFullException;
+import com.ust_internal.productdiscountapi.exception.IdempotencyKeyConflictException;
+import com.ust_internal.productdiscountapi.idempotency.DiscountRequestCoalescer;
+import com.ust_internal.productdiscountapi.idempotency.IdempotencyStore;
+import com.ust_internal.productdiscountapi.idempotency.RequestFingerprint;
 import com.ust_internal.productdiscountapi.mapper.ProductMapper;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.persistence.ProductWriteBehindQueue;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluator;
+import com.ust_internal.productdiscountapi.pricing.LineDiscountCache;
 import com.ust_internal.productdiscountapi.repository.ProductRepository;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.RuleType;
+import com.ust_internal.productdiscountapi.rule.ThresholdType;
+import com.ust_internal.productdiscountapi.validation.ProductValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +64,35 @@ class DiscountServiceImplTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductWriteBehindQueue productWriteBehindQueue;
+
+    @Spy
+    private DiscountProperties discountProperties = defaultRules();
+    private final DiscountRuleEngine discountRuleEngine = new DiscountRuleEngine(discountProperties);
+
+    // Parallel evaluation is disabled in defaultRules(), so no pricing pool is needed
+    @Spy
+    private CartEvaluator cartEvaluator = new CartEvaluator(
+            discountRuleEngine, discountProperties, null, new LineDiscountCache(discountProperties));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private DiscountMetrics discountMetrics = new DiscountMetrics(meterRegistry);
+
+    @Spy
+    private ProductValidator productValidator = new ProductValidator();
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(discountProperties);
+
+    @Spy
+    private RequestFingerprint requestFingerprint = new RequestFingerprint(new ObjectMapper());
+
+    @Spy
+    private DiscountRequestCoalescer discountRequestCoalescer = new DiscountRequestCoalescer();
+
     @InjectMocks
     private DiscountServiceImpl discountService;
 
@@ -95,6 +155,118 @@ class DiscountServiceImplTest {
         });
     }
 
+    @Test
+    void calculateDiscount_WithLargePriceAndQuantity_ThrowsInvalidProductException() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(List.of(
+                new ProductDto(1L, "Bullion", "Electronics", 1_000_000_000.0, Integer.MAX_VALUE)));
+
+        // When
+        InvalidProductException exception = assertThrows(InvalidProductException.class,
+                () -> discountService.calculateDiscount(requestDto));
+
+        // Then
+        assertTrue(exception.getMessage().contains("Price times quantity is too large"), exception.getMessage());
+        verify(cartEvaluator, never()).evaluate(anyList());
+    }
+
+    @Test
+    void calculateDiscount_WithSeveralInvalidProducts_ReportsEveryViolation() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(
+                Arrays.asList(electronicsProduct, invalidProduct, null)
+        );
+
+        // When
+        InvalidProductException exception = assertThrows(InvalidProductException.class,
+                () -> discountService.calculateDiscount(requestDto));
+
+        // Then
+        assertEquals(3, exception.getViolations().size());
+        assertEquals("products[1]: Invalid product: Invalid. Price must be greater than 0, "
+                        + "products[1]: Invalid product: Invalid. Quantity must be greater than 0, "
+                        + "products[2]: Product is required",
+                exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        verify(cartEvaluator, never()).evaluate(anyList());
+    }
+
+    @Test
+    void calculateDiscountPartial_WithInvalidLines_PricesOnlyValidLines() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(
+                Arrays.asList(electronicsProduct, invalidProduct, null, clothingProduct)
+        );
+
+        // When
+        DiscountResponseDto response = discountService.calculateDiscountPartial(requestDto);
+
+        // Then
+        assertEquals(2, response.getDiscountedProducts().size());
+        assertEquals("Laptop", response.getDiscountedProducts().get(0).getName());
+        assertEquals("Shirt", response.getDiscountedProducts().get(1).getName());
+        assertEquals(6000.0, response.getTotalSavings());
+        assertEquals(47000.0, response.getFinalBill());
+        assertEquals(List.of(
+                new LineErrorDto(1, "PRICE_INVALID", "Invalid product: Invalid. Price must be greater than 0"),
+                new LineErrorDto(1, "QUANTITY_INVALID", "Invalid product: Invalid. Quantity must be greater than 0"),
+                new LineErrorDto(2, "PRODUCT_REQUIRED", "Product is required")
+        ), response.getErrors());
+    }
+
+    @Test
+    void calculateDiscountPartial_WithValidLines_ReturnsNoErrors() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(List.of(electronicsProduct, groceryProduct));
+
+        // When
+        DiscountResponseDto response = discountService.calculateDiscountPartial(requestDto);
+
+        // Then
+        assertEquals(2, response.getDiscountedProducts().size());
+        assertTrue(response.getErrors().isEmpty());
+    }
+
+    @Test
+    void calculateDiscountBatch_WithMixedCarts_ReturnsResultPerCartInOrder() {
+        // Given
+        BatchDiscountRequestDto requestDto = new BatchDiscountRequestDto(Arrays.asList(
+                new CartRequestDto("a", List.of(electronicsProduct)),
+                new CartRequestDto("b", List.of(clothingProduct, invalidProduct)),
+                new CartRequestDto("c", List.of()),
+                new CartRequestDto("d", List.of(groceryProduct))
+        ));
+
+        // When
+        BatchDiscountResponseDto response = discountService.calculateDiscountBatch(requestDto);
+
+        // Then
+        List<CartResultDto> results = response.getResults();
+        assertEquals(4, results.size());
+        assertEquals("a", results.get(0).getCorrelationId());
+        assertEquals(45000.0, results.get(0).getResult().getFinalBill());
+        assertEquals("b", results.get(1).getCorrelationId());
+        assertNull(results.get(1).getResult());
+        assertEquals(2, results.get(1).getErrors().size());
+        assertEquals(1, results.get(1).getErrors().get(0).getIndex());
+        assertEquals("At least one product is required", results.get(2).getError());
+        assertEquals(60.0, results.get(3).getResult().getTotalSavings());
+    }
+
+    @Test
+    void calculateDiscountBatch_OverItemLimit_ThrowsBatchLimitExceededException() {
+        // Given
+        discountProperties.getBatch().setMaxItems(2);
+        BatchDiscountRequestDto requestDto = new BatchDiscountRequestDto(List.of(
+                new CartRequestDto("a", List.of(electronicsProduct, clothingProduct)),
+                new CartRequestDto("b", List.of(groceryProduct))
+        ));
+
+        // When & Then
+        assertThrows(BatchLimitExceededException.class, () -> discountService.calculateDiscountBatch(requestDto));
+        verify(cartEvaluator, never()).evaluate(anyList());
+    }
+
     @Test
     void calculateDiscount_WithNoDiscountProducts_ReturnsOriginalPrices() {
         // Given
@@ -134,6 +306,52 @@ class DiscountServiceImplTest {
         assertEquals(1000.0, result.getSavings(), 0.001);    // 2 free items * 500
     }
 
+    @Test
+    void calculateDiscount_WithFractionalPrices_ReturnsExactTotals() {
+        // Given - summing 0.1 ten times in floating point gives 0.9999999999999999
+        List<ProductDto> products = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            products.add(new ProductDto(i, "Candy", "Snacks", 0.1, 1));
+        }
+        DiscountRequestDto requestDto = new DiscountRequestDto(products);
+
+        // When
+        DiscountResponseDto response = discountService.calculateDiscount(requestDto);
+
+        // Then
+        assertEquals(1.0, response.getFinalBill());
+        assertEquals(0.0, response.getTotalSavings());
+    }
+
+    @Test
+    void calculateDiscount_WithValidProducts_RecordsMetricsPerCategory() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(Arrays.asList(
+                electronicsProduct,
+                clothingProduct,
+                new ProductDto(5L, "Jeans", "clothing", 2000.0, 3),
+                new ProductDto(6L, "Novel", "Books", 500.0, 1)
+        ));
+
+        // When
+        discountService.calculateDiscount(requestDto);
+
+        // Then
+        assertEquals(4, meterRegistry.get(DiscountMetrics.CART_SIZE).tag("mode", "cart").summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get(DiscountMetrics.ITEMS_PROCESSED)
+                .tag("category", "electronics").counter().count());
+        assertEquals(2.0, meterRegistry.get(DiscountMetrics.ITEMS_PROCESSED)
+                .tag("category", "clothing").counter().count());
+        assertEquals(1.0, meterRegistry.get(DiscountMetrics.ITEMS_PROCESSED)
+                .tag("category", "none").counter().count());
+        assertEquals(5000.0, meterRegistry.get(DiscountMetrics.SAVINGS_ISSUED)
+                .tag("category", "electronics").counter().count());
+        assertEquals(3000.0, meterRegistry.get(DiscountMetrics.SAVINGS_ISSUED)
+                .tag("category", "clothing").counter().count());
+        assertEquals(0.0, meterRegistry.get(DiscountMetrics.SAVINGS_ISSUED)
+                .tag("category", "none").counter().count());
+    }
+
     @Test
     void calculateDiscountAndSave_WithValidProducts_SavesProductsAndReturnsDiscount() {
         // Given
@@ -189,6 +407,166 @@ class DiscountServiceImplTest {
         verify(productMapper, times(2)).toEntity(any(ProductDto.class));
         verify(productMapper, times(2)).toDto(any(ProductEntity.class));
         verify(productRepository, times(1)).saveAll(anyList());
+        verify(productValidator, times(1)).validate(anyList());
+        assertEquals(1, meterRegistry.get(DiscountMetrics.SAVE_DURATION).timer().count());
+    }
+
+    @Test
+    void calculateDiscountAndSave_WithWriteBehindEnabled_QueuesProductsWithoutSaving() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(List.of(electronicsProduct, clothingProduct));
+        when(productWriteBehindQueue.isEnabled()).thenReturn(true);
+        when(productMapper.toEntity(any(ProductDto.class))).thenReturn(new ProductEntity());
+
+        // When
+        DiscountResponseDto response = discountService.calculateDiscountAndSave(requestDto);
+
+        // Then
+        assertEquals(6000.0, response.getTotalSavings());
+        assertEquals(47000.0, response.getFinalBill());
+        verify(productWriteBehindQueue).enqueue(argThat(entities -> entities.size() == 2), isNull());
+        verify(productRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void calculateDiscountAndSave_WithWriteBehindQueueFull_PropagatesSaveQueueFullException() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(List.of(electronicsProduct));
+        when(productWriteBehindQueue.isEnabled()).thenReturn(true);
+        doThrow(new SaveQueueFullException("Save queue is full")).when(productWriteBehindQueue).enqueue(anyList(), any());
+
+        // When & Then
+        assertThrows(SaveQueueFullException.class, () -> discountService.calculateDiscountAndSave(requestDto));
+        verify(cartEvaluator, never()).evaluate(anyList());
+    }
+
+    @Test
+    void calculateDiscountAndSave_RetriedWithSameKey_SavesOnceAndReplaysResponse() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(List.of(electronicsProduct));
+        when(productMapper.toEntity(any(ProductDto.class))).thenReturn(new ProductEntity());
+        when(productMapper.toDto(any(ProductEntity.class))).thenReturn(electronicsProduct);
+        when(productRepository.saveAll(anyList())).thenReturn(List.of(new ProductEntity()));
+
+        // When
+        DiscountResponseDto first = discountService.calculateDiscountAndSave(requestDto, "order-42");
+        DiscountResponseDto retry = discountService.calculateDiscountAndSave(
+                new DiscountRequestDto(List.of(new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1))), "order-42");
+
+        // Then
+        assertSame(first, retry);
+        verify(productRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void calculateDiscountAndSave_WriteBehindFlushFails_RetryWithSameKeySavesAgain() {
+        // Given
+        DiscountRequestDto requestDto = new DiscountRequestDto(List.of(electronicsProduct));
+        when(productWriteBehindQueue.isEnabled()).thenReturn(true);
+        when(productMapper.toEntity(any(ProductDto.class))).thenReturn(new ProductEntity());
+        ArgumentCaptor<Runnable> onFailure = ArgumentCaptor.forClass(Runnable.class);
+        discountService.calculateDiscountAndSave(requestDto, "order-42");
+        verify(productWriteBehindQueue).enqueue(anyList(), onFailure.capture());
+
+        // When
+        onFailure.getValue().run();
+        discountService.calculateDiscountAndSave(requestDto, "order-42");
+
+        // Then
+        verify(productWriteBehindQueue, times(2)).enqueue(anyList(), any());
+    }
+
+    @Test
+    void calculateDiscountAndSave_SameKeyDifferentBody_ThrowsConflict() {
+        // Given
+        when(productMapper.toEntity(any(ProductDto.class))).thenReturn(new ProductEntity());
+        when(productMapper.toDto(any(ProductEntity.class))).thenReturn(electronicsProduct);
+        when(productRepository.saveAll(anyList())).thenReturn(List.of(new ProductEntity()));
+        discountService.calculateDiscountAndSave(new DiscountRequestDto(List.of(electronicsProduct)), "order-42");
+
+        // When & Then
+        assertThrows(IdempotencyKeyConflictException.class, () -> discountService.calculateDiscountAndSave(
+                new DiscountRequestDto(List.of(clothingProduct)), "order-42"));
+        verify(productRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void calculateDiscountAndSave_WithBodyHashFallback_DeduplicatesUnkeyedRetries() {
+        // Given
+        discountProperties.getIdempotency().setBodyHashFallback(true);
+        DiscountRequestDto requestDto = new DiscountRequestDto(List.of(electronicsProduct));
+        when(productMapper.toEntity(any(ProductDto.class))).thenReturn(new ProductEntity());
+        when(productMapper.toDto(any(ProductEntity.class))).thenReturn(electronicsProduct);
+        when(productRepository.saveAll(anyList())).thenReturn(List.of(new ProductEntity()));
+
+        // When
+        discountService.calculateDiscountAndSave(requestDto);
+        discountService.calculateDiscountAndSave(requestDto);
+        discountService.calculateDiscountAndSave(new DiscountRequestDto(List.of(clothingProduct)));
+
+        // Then
+        verify(productRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void repriceProducts_WithStoredIds_PricesAtRequestedQuantities() {
+        // Given
+        RepriceRequestDto requestDto = new RepriceRequestDto(List.of(
+                new RepriceItemDto(2L, 3),
+                new RepriceItemDto(1L, 1)
+        ));
+        when(productRepository.findAllByIdCached(List.of(2L, 1L))).thenReturn(List.of(
+                new ProductEntity(2L, "Shirt", "Clothing", 1000.0, 99),
+                new ProductEntity(1L, "Laptop", "Electronics", 50000.0, 99)
+        ));
+        when(productMapper.toDto(any(ProductEntity.class))).thenAnswer(invocation -> new ProductMapper()
+                .toDto(invocation.getArgument(0)));
+
+        // When
+        DiscountResponseDto response = discountService.repriceProducts(requestDto);
+
+        // Then
+        assertEquals(2, response.getDiscountedProducts().size());
+        assertEquals("Shirt", response.getDiscountedProducts().get(0).getName());
+        assertEquals(2000.0, response.getDiscountedProducts().get(0).getFinalPrice());
+        assertEquals(6000.0, response.getTotalSavings());
+        assertEquals(47000.0, response.getFinalBill());
+    }
+
+    @Test
+    void repriceProducts_WithUnknownIds_ThrowsProductNotFoundException() {
+        // Given
+        RepriceRequestDto requestDto = new RepriceRequestDto(List.of(
+                new RepriceItemDto(1L, 1),
+                new RepriceItemDto(8L, 1),
+                new RepriceItemDto(9L, 1)
+        ));
+        when(productRepository.findAllByIdCached(List.of(1L, 8L, 9L))).thenReturn(Arrays.asList(
+                new ProductEntity(1L, "Laptop", "Electronics", 50000.0, 1), null, null));
+        when(productMapper.toDto(any(ProductEntity.class))).thenReturn(electronicsProduct);
+
+        // When
+        ProductNotFoundException exception = assertThrows(ProductNotFoundException.class,
+                () -> discountService.repriceProducts(requestDto));
+
+        // Then
+        assertEquals("Products not found: [8, 9]", exception.getMessage());
+        verify(cartEvaluator, never()).evaluate(anyList());
+    }
+
+    @Test
+    void repriceProducts_OverItemLimit_ThrowsBatchLimitExceededException() {
+        // Given
+        discountProperties.getReprice().setMaxItems(2);
+        RepriceRequestDto requestDto = new RepriceRequestDto(List.of(
+                new RepriceItemDto(1L, 1),
+                new RepriceItemDto(2L, 1),
+                new RepriceItemDto(3L, 1)
+        ));
+
+        // When & Then
+        assertThrows(BatchLimitExceededException.class, () -> discountService.repriceProducts(requestDto));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -318,4 +696,60 @@ class DiscountServiceImplTest {
         // When & Then
         assertThrows(InvalidProductException.class, () -> discountService.validateProduct(negativeQuantityProduct));
     }
+
+    @Test
+    void applyDiscount_AfterRulesReloaded_UsesNewRules() {
+        // Given
+        discountRuleEngine.reload(List.of(DiscountRuleDefinition.builder()
+                .category("Books")
+                .type(RuleType.PERCENTAGE)
+                .percentage(20.0)
+                .build()));
+        ProductDto book = new ProductDto(1L, "Novel", "books", 500.0, 2);
+        ProductDto laptop = new ProductDto(2L, "Laptop", "Electronics", 50000.0, 1);
+
+        // When
+        DiscountedProductDto bookResult = discountService.applyDiscount(book);
+        DiscountedProductDto laptopResult = discountService.applyDiscount(laptop);
+
+        // Then
+        assertEquals(800.0, bookResult.getFinalPrice(), 0.001);
+        assertEquals(200.0, bookResult.getSavings(), 0.001);
+        assertEquals(50000.0, laptopResult.getFinalPrice(), 0.001);
+        assertEquals(0.0, laptopResult.getSavings(), 0.001);
+    }
+
+    static CartEvaluator cartEvaluator(DiscountProperties properties) {
+        return new CartEvaluator(
+                new DiscountRuleEngine(properties), properties, null, new LineDiscountCache(properties));
+    }
+
+    static DiscountProperties defaultRules() {
+        DiscountProperties properties = new DiscountProperties();
+        properties.setRules(List.of(
+                DiscountRuleDefinition.builder()
+                        .category("electronics")
+                        .type(RuleType.PERCENTAGE)
+                        .thresholdType(ThresholdType.PRICE)
+                        .threshold(20000.0)
+                        .percentage(10.0)
+                        .build(),
+                DiscountRuleDefinition.builder()
+                        .category("clothing")
+                        .type(RuleType.BUY_N_GET_M)
+                        .thresholdType(ThresholdType.QUANTITY)
+                        .threshold(3.0)
+                        .buyQuantity(2)
+                        .freeQuantity(1)
+                        .build(),
+                DiscountRuleDefinition.builder()
+                        .category("grocery")
+                        .type(RuleType.PERCENTAGE)
+                        .thresholdType(ThresholdType.QUANTITY)
+                        .threshold(10.0)
+                        .percentage(5.0)
+                        .build()
+        ));
+        return properties;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.DiscountSummaryDto;
+import com.ust_internal.productdiscountapi.dto.DiscountedProductDto;
+import com.ust_internal.productdiscountapi.idempotency.DiscountRequestCoalescer;
+import com.ust_internal.productdiscountapi.idempotency.IdempotencyStore;
+import com.ust_internal.productdiscountapi.idempotency.RequestFingerprint;
+import com.ust_internal.productdiscountapi.mapper.ProductMapper;
+import com.ust_internal.productdiscountapi.metrics.DiscountMetrics;
+import com.ust_internal.productdiscountapi.persistence.ProductWriteBehindQueue;
+import com.ust_internal.productdiscountapi.pricing.CartEvaluator;
+import com.ust_internal.productdiscountapi.pricing.CategoryTotal;
+import com.ust_internal.productdiscountapi.pricing.LineDiscountCache;
+import com.ust_internal.productdiscountapi.repository.ProductRepository;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleDefinition;
+import com.ust_internal.productdiscountapi.rule.DiscountRuleEngine;
+import com.ust_internal.productdiscountapi.rule.RuleType;
+import com.ust_internal.productdiscountapi.rule.ThresholdType;
+import com.ust_internal.productdiscountapi.validation.ProductValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class DiscountStreamServiceImplTest {
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private DiscountRuleEngine discountRuleEngine;
+    private DiscountStreamServiceImpl discountStreamService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        meterRegistry = new SimpleMeterRegistry();
+        DiscountMetrics discountMetrics = new DiscountMetrics(meterRegistry);
+        DiscountProperties discountProperties = DiscountServiceImplTest.defaultRules();
+        discountRuleEngine = new DiscountRuleEngine(discountProperties);
+        DiscountService discountService = new DiscountServiceImpl(
+                mock(ProductRepository.class),
+                mock(ProductMapper.class),
+                new CartEvaluator(discountRuleEngine, discountProperties, null, new LineDiscountCache(discountProperties)),
+                discountMetrics,
+                new ProductValidator(),
+                discountProperties,
+                mock(ProductWriteBehindQueue.class),
+                new IdempotencyStore(discountProperties),
+                new RequestFingerprint(objectMapper),
+                new DiscountRequestCoalescer()
+        );
+        discountStreamService = new DiscountStreamServiceImpl(
+                discountService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                objectMapper,
+                discountMetrics,
+                discountRuleEngine
+        );
+    }
+
+    @Test
+    void calculateDiscount_WithNdjsonInput_WritesOneLinePerProductAndTrailer() throws Exception {
+        // Given
+        String input = """
+                {"id":1,"name":"Laptop","category":"Electronics","price":50000.0,"quantity":1}
+                {"id":2,"name":"Shirt","category":"Clothing","price":1000.0,"quantity":3}
+                {"id":3,"name":"Apple","category":"Grocery","price":100.0,"quantity":12}
+                """;
+
+        // When
+        String[] lines = stream(input);
+
+        // Then
+        assertEquals(4, lines.length);
+        assertTrue(Arrays.stream(lines).allMatch(line -> line.startsWith("{") && line.endsWith("}")));
+        DiscountedProductDto laptop = objectMapper.readValue(lines[0], DiscountedProductDto.class);
+        assertEquals(1L, laptop.getId());
+        assertEquals(45000.0, laptop.getFinalPrice(), 0.001);
+
+        DiscountSummaryDto summary = objectMapper.readValue(lines[3], DiscountSummaryDto.class);
+        assertEquals(3L, summary.getItemCount());
+        assertEquals(6060.0, summary.getTotalSavings(), 0.001);
+        assertEquals(48140.0, summary.getFinalBill(), 0.001);
+        assertNull(summary.getError());
+    }
+
+    @Test
+    void calculateDiscount_RecordsLinesAndSavingsPerRuleCategory() throws Exception {
+        // Given
+        String input = """
+                {"id":1,"name":"Laptop","category":"Electronics","price":50000.0,"quantity":1}
+                {"id":2,"name":"Mouse","category":"ELECTRONICS","price":500.0,"quantity":2}
+                {"id":3,"name":"Shirt","category":"Clothing","price":1000.0,"quantity":3}
+                {"id":4,"name":"Pen","category":"Stationery","price":10.0,"quantity":1}
+                """;
+
+        // When
+        stream(input);
+
+        // Then
+        assertEquals(2.0, meterRegistry.get(DiscountMetrics.ITEMS_PROCESSED).tag("category", "electronics")
+                .counter().count());
+        assertEquals(5000.0, meterRegistry.get(DiscountMetrics.SAVINGS_ISSUED).tag("category", "electronics")
+                .counter().count(), 0.001);
+        assertEquals(1000.0, meterRegistry.get(DiscountMetrics.SAVINGS_ISSUED).tag("category", "clothing")
+                .counter().count(), 0.001);
+        assertEquals(1.0, meterRegistry.get(DiscountMetrics.ITEMS_PROCESSED).tag("category", CategoryTotal.UNMATCHED)
+                .counter().count());
+    }
+
+    @Test
+    void calculateDiscount_WhenRulesReloadMidStream_PricesAndTalliesAgainstStartingRules() throws Exception {
+        // Given
+        String first = """
+                {"id":1,"name":"Laptop","category":"Electronics","price":50000.0,"quantity":1}
+                """;
+        String second = """
+                {"id":2,"name":"Monitor","category":"Electronics","price":30000.0,"quantity":1}
+                """;
+        // The second record is only read after the rules have been swapped
+        Iterator<InputStream> parts = List.<InputStream>of(
+                new ByteArrayInputStream(first.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayInputStream(second.getBytes(StandardCharsets.UTF_8))).iterator();
+        InputStream input = new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return parts.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                InputStream next = parts.next();
+                if (!parts.hasNext()) {
+                    discountRuleEngine.reload(List.of(DiscountRuleDefinition.builder()
+                            .category("books")
+                            .type(RuleType.PERCENTAGE)
+                            .thresholdType(ThresholdType.PRICE)
+                            .threshold(0.0)
+                            .percentage(50.0)
+                            .build()));
+                }
+                return next;
+            }
+        });
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        discountStreamService.calculateDiscount(input, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        DiscountSummaryDto summary = objectMapper.readValue(lines[2], DiscountSummaryDto.class);
+        assertEquals(8000.0, summary.getTotalSavings(), 0.001);
+        assertEquals(2.0, meterRegistry.get(DiscountMetrics.ITEMS_PROCESSED).tag("category", "electronics")
+                .counter().count());
+        assertEquals(8000.0, meterRegistry.get(DiscountMetrics.SAVINGS_ISSUED).tag("category", "electronics")
+                .counter().count(), 0.001);
+    }
+
+    @Test
+    void calculateDiscount_WithJsonArrayInput_StreamsArrayElements() throws Exception {
+        // Given
+        String input = """
+                [{"id":1,"name":"Laptop","category":"Electronics","price":50000.0,"quantity":1},
+                 {"id":2,"name":"Mouse","category":"Electronics","price":500.0,"quantity":2}]
+                """;
+
+        // When
+        String[] lines = stream(input);
+
+        // Then
+        assertEquals(3, lines.length);
+        DiscountSummaryDto summary = objectMapper.readValue(lines[2], DiscountSummaryDto.class);
+        assertEquals(2L, summary.getItemCount());
+        assertEquals(46000.0, summary.getFinalBill(), 0.001);
+    }
+
+    @Test
+    void calculateDiscount_WithInvalidProduct_StopsAndReportsErrorInTrailer() throws Exception {
+        // Given
+        String input = """
+                {"id":1,"name":"Laptop","category":"Electronics","price":50000.0,"quantity":1}
+                {"id":2,"category":"Clothing","price":1000.0,"quantity":3}
+                {"id":3,"name":"Apple","category":"Grocery","price":100.0,"quantity":12}
+                """;
+
+        // When
+        String[] lines = stream(input);
+
+        // Then
+        assertEquals(2, lines.length);
+        DiscountSummaryDto summary = objectMapper.readValue(lines[1], DiscountSummaryDto.class);
+        assertEquals(1L, summary.getItemCount());
+        assertEquals(45000.0, summary.getFinalBill(), 0.001);
+        assertEquals("products[1].name: Product name is required", summary.getError());
+    }
+
+    @Test
+    void calculateDiscount_WithMalformedRecord_ReportsErrorInTrailer() throws Exception {
+        // Given
+        String input = """
+                {"id":1,"name":"Laptop","category":"Electronics","price":50000.0,"quantity":1}
+                {"id":2,"name":"Shirt","category":"Clothing","price":"invalid","quantity":3}
+                """;
+
+        // When
+        String[] lines = stream(input);
+
+        // Then
+        assertEquals(2, lines.length);
+        DiscountSummaryDto summary = objectMapper.readValue(lines[1], DiscountSummaryDto.class);
+        assertEquals(1L, summary.getItemCount());
+        assertTrue(summary.getError().startsWith("Malformed product at index 1"));
+    }
+
+    @Test
+    void calculateDiscount_WithManyRecords_FlushesOnlyAtTheEnd() throws Exception {
+        // Given
+        String input = """
+                {"id":1,"name":"Apple","category":"Grocery","price":100.0,"quantity":12}
+                """.repeat(1_000);
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        // When
+        discountStreamService.calculateDiscount(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        // Then
+        assertEquals(1_001, output.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertEquals(1, flushes.get());
+    }
+
+    private String[] stream(String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        discountStreamService.calculateDiscount(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8).split("\n");
+    }
+}
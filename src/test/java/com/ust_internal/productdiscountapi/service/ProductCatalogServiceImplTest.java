@@ -0,0 +1,128 @@
+package com.ust_internal.productdiscountapi.service;
+
+
+import com.ust_internal.productdiscountapi.config.DiscountProperties;
+import com.ust_internal.productdiscountapi.dto.ProductPageDto;
+import com.ust_internal.productdiscountapi.entity.ProductEntity;
+import com.ust_internal.productdiscountapi.exception.InvalidPageRequestException;
+import com.ust_internal.productdiscountapi.exception.ProductNotFoundException;
+import com.ust_internal.productdiscountapi.mapper.ProductMapper;
+import com.ust_internal.productdiscountapi.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Spy
+    private ProductMapper productMapper = new ProductMapper();
+
+    @Spy
+    private DiscountProperties discountProperties = new DiscountProperties();
+
+    @InjectMocks
+    private ProductCatalogServiceImpl productCatalogService;
+
+    @Test
+    void getProduct_WithUnknownId_ThrowsProductNotFoundException() {
+        // Given
+        when(productRepository.findById(42L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ProductNotFoundException.class, () -> productCatalogService.getProduct(42L));
+    }
+
+    @Test
+    void findByCategory_WithMoreRowsThanPageSize_ReturnsCursorForNextPage() {
+        // Given
+        when(productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc("Electronics", 0L, Limit.of(3)))
+                .thenReturn(List.of(product(1L, 10.0), product(2L, 20.0), product(3L, 30.0)));
+
+        // When
+        ProductPageDto page = productCatalogService.findByCategory("Electronics", null, 2);
+
+        // Then
+        assertEquals(2, page.getProducts().size());
+        assertEquals(2L, page.getNextAfterId());
+        assertNull(page.getNextAfterPrice());
+    }
+
+    @Test
+    void findByCategory_OnLastPage_ReturnsNoCursor() {
+        // Given
+        when(productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc("Electronics", 2L, Limit.of(3)))
+                .thenReturn(List.of(product(3L, 30.0)));
+
+        // When
+        ProductPageDto page = productCatalogService.findByCategory("Electronics", 2L, 2);
+
+        // Then
+        assertEquals(1, page.getProducts().size());
+        assertNull(page.getNextAfterId());
+    }
+
+    @Test
+    void findByPriceRange_WithCursor_ContinuesAfterLastPriceAndId() {
+        // Given
+        when(productRepository.findPriceRangePage(20.0, 2L, 100.0, Limit.of(2)))
+                .thenReturn(List.of(product(5L, 20.0), product(3L, 30.0)));
+
+        // When
+        ProductPageDto page = productCatalogService.findByPriceRange(10.0, 100.0, 20.0, 2L, 1);
+
+        // Then
+        assertEquals(1, page.getProducts().size());
+        assertEquals(5L, page.getNextAfterId());
+        assertEquals(20.0, page.getNextAfterPrice());
+    }
+
+    @Test
+    void findByPriceRange_WithCursorBelowMinPrice_StartsFromMinPriceAndFirstId() {
+        // Given
+        when(productRepository.findPriceRangePage(20.0, 0L, 100.0, Limit.of(3)))
+                .thenReturn(List.of(product(1L, 20.0)));
+
+        // When
+        ProductPageDto page = productCatalogService.findByPriceRange(20.0, 100.0, 10.0, 7L, 2);
+
+        // Then
+        assertEquals(1, page.getProducts().size());
+        assertNull(page.getNextAfterId());
+    }
+
+    @Test
+    void findByPriceRange_WithInvertedRangeOrOversizedPage_ThrowsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class,
+                () -> productCatalogService.findByPriceRange(100.0, 10.0, null, null, null));
+        assertThrows(InvalidPageRequestException.class,
+                () -> productCatalogService.findByPriceRange(10.0, 100.0, null, null, 10_000));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void findByPriceRange_WithHalfCursor_ThrowsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class,
+                () -> productCatalogService.findByPriceRange(10.0, 100.0, 20.0, null, 10));
+        assertThrows(InvalidPageRequestException.class,
+                () -> productCatalogService.findByPriceRange(10.0, 100.0, null, 2L, 10));
+        verifyNoInteractions(productRepository);
+    }
+
+    private static ProductEntity product(Long id, Double price) {
+        return new ProductEntity(id, "Product " + id, "Electronics", price, 1);
+    }
+}
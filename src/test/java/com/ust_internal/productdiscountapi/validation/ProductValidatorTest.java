@@ -0,0 +1,82 @@
+package com.ust_internal.productdiscountapi.validation;
+
+import com.ust_internal.productdiscountapi.dto.ProductDto;
+import com.ust_internal.productdiscountapi.exception.InvalidProductException;
+import com.ust_internal.productdiscountapi.pricing.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductValidatorTest {
+
+    private final ProductValidator productValidator = new ProductValidator();
+
+    @Test
+    void validate_WithValidProducts_ReturnsSharedValidResult() {
+        // Given
+        List<ProductDto> products = List.of(
+                new ProductDto(1L, "Laptop", "Electronics", 50000.0, 1),
+                new ProductDto(2L, "Shirt", "Clothing", 1000.0, 3)
+        );
+
+        // When
+        ValidationResult result = productValidator.validate(products);
+
+        // Then
+        assertSame(ValidationResult.VALID, result);
+        assertDoesNotThrow(result::throwIfInvalid);
+    }
+
+    @Test
+    void validate_WithMissingFields_CollectsViolationCodesInOnePass() {
+        // Given
+        List<ProductDto> products = Arrays.asList(
+                new ProductDto(1L, "Laptop", "Electronics", null, 1),
+                null,
+                new ProductDto(3L, "Apple", "Grocery", 1.0, null)
+        );
+
+        // When
+        ValidationResult result = productValidator.validate(products);
+
+        // Then
+        assertFalse(result.isValid());
+        assertEquals(List.of(
+                new Violation(0, ViolationCode.PRICE_INVALID, "Laptop"),
+                new Violation(1, ViolationCode.PRODUCT_REQUIRED, null),
+                new Violation(2, ViolationCode.QUANTITY_INVALID, "Apple")
+        ), result.getViolations());
+    }
+
+    @Test
+    void validate_WithLargePriceAndQuantity_RejectsLineTotal() {
+        // Given
+        List<ProductDto> products = List.of(
+                new ProductDto(1L, "Bullion", "Electronics", 1_000_000_000.0, 1_000_000),
+                new ProductDto(2L, "Yacht", "Electronics", Money.MAX_LINE_TOTAL, 1)
+        );
+
+        // When
+        ValidationResult result = productValidator.validate(products);
+
+        // Then
+        assertEquals(List.of(new Violation(0, ViolationCode.LINE_TOTAL_TOO_LARGE, "Bullion")),
+                result.getViolations());
+    }
+
+    @Test
+    void validate_WithSingleInvalidProduct_ThrowsWithoutIndexInMessage() {
+        // Given
+        ProductDto product = new ProductDto(1L, "Laptop", "Electronics", 50000.0, 0);
+
+        // When
+        InvalidProductException exception = assertThrows(InvalidProductException.class,
+                () -> productValidator.validate(product).throwIfInvalid());
+
+        // Then
+        assertEquals("Invalid product: Laptop. Quantity must be greater than 0", exception.getMessage());
+    }
+}